@@ -0,0 +1,5 @@
+#!/bin/sh
+# Runs once when the primary initialises its data directory: allow streaming
+# replication connections so the optional read replicas can clone and follow it.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
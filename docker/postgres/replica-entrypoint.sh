@@ -0,0 +1,19 @@
+#!/bin/sh
+# Starts a hot-standby replica of the primary. On first start the data directory is
+# cloned with pg_basebackup; -R writes standby.signal and the primary_conninfo.
+set -e
+PGDATA=/var/lib/postgresql/data
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_isready -h "$PRIMARY_HOST" -U "$POSTGRES_USER" -q; do
+        echo "Waiting for primary $PRIMARY_HOST..."
+        sleep 2
+    done
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 700 "$PGDATA"
+    PGPASSWORD="$POSTGRES_PASSWORD" su-exec postgres \
+        pg_basebackup -h "$PRIMARY_HOST" -U "$POSTGRES_USER" -D "$PGDATA" -R -X stream
+fi
+
+exec su-exec postgres postgres -D "$PGDATA" -c hot_standby=on
@@ -0,0 +1,83 @@
+package org.viettel.vgov.benchmark;
+
+import org.viettel.vgov.model.Project;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.model.WorkLog;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory users, projects and work logs for the benchmarks. The same
+ * seed always yields the same data, so runs before and after a change are comparable.
+ */
+public final class BenchmarkData {
+
+    public static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+    public static final String[] TASK_FEATURES = {
+            "Login", "Dashboard", "Reporting", "Work log import", "User management", "Notifications", null
+    };
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    public static List<User> users(int count) {
+        User.Role[] roles = User.Role.values();
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setEmployeeCode(String.format("EMP%05d", i));
+            user.setFullName("Benchmark User " + i);
+            user.setEmail("user" + i + "@vgov.vn");
+            user.setRole(roles[i % roles.length]);
+            user.setIsActive(true);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<Project> projects(int count) {
+        Random random = new Random(SEED);
+        Project.Status[] statuses = Project.Status.values();
+        Project.ProjectType[] types = Project.ProjectType.values();
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Project project = new Project();
+            project.setId((long) i);
+            project.setProjectCode(String.format("PRJ%05d", i));
+            project.setProjectName("Benchmark Project " + i);
+            project.setPmEmail("pm" + (i % 50) + "@vgov.vn");
+            project.setProjectType(types[random.nextInt(types.length)]);
+            project.setStatus(statuses[random.nextInt(statuses.length)]);
+            LocalDate start = BASE_DATE.plusDays(random.nextInt(730) - 365);
+            project.setStartDate(start);
+            // Roughly one in five projects is open-ended
+            project.setEndDate(random.nextInt(5) == 0 ? null : start.plusDays(30 + random.nextInt(540)));
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    public static List<WorkLog> workLogs(int count, List<User> users, List<Project> projects) {
+        Random random = new Random(SEED);
+        List<WorkLog> workLogs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            WorkLog workLog = new WorkLog();
+            workLog.setId((long) i);
+            workLog.setUser(users.get(random.nextInt(users.size())));
+            workLog.setProject(projects.get(random.nextInt(projects.size())));
+            workLog.setWorkDate(BASE_DATE.plusDays(random.nextInt(365)));
+            workLog.setHoursWorked(BigDecimal.valueOf(1 + random.nextInt(16), 1).multiply(BigDecimal.valueOf(5)));
+            workLog.setTaskFeature(TASK_FEATURES[random.nextInt(TASK_FEATURES.length)]);
+            workLog.setWorkDescription("Worked on item " + i);
+            workLogs.add(workLog);
+        }
+        return workLogs;
+    }
+}
@@ -0,0 +1,101 @@
+package org.viettel.vgov.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed traffic under both request execution modes: slow analytics requests that hold a read
+ * connection through a long query, next to fast CRUD requests on the primary. Requests go to
+ * an executor shaped like Tomcat's, either a bounded pool of platform threads or a virtual
+ * thread per request, and the Hikari pools are modelled as fair semaphores.
+ * <p>
+ * With {@code readReplica=true} analytics has its own pool, as with {@link ReadReplicaConfig};
+ * the thread pool is then the only shared resource and slow requests starve fast ones in
+ * platform mode. With one pool both modes queue for connections instead, which is why the
+ * pool is sized for the database and not for the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutionModeBenchmark {
+
+    // More slow clients than Tomcat threads, so analytics alone can occupy every platform thread
+    private static final int SLOW_CLIENTS = 256;
+    private static final int FAST_CLIENTS = 8;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"true", "false"})
+    public boolean readReplica;
+
+    @Param("200")
+    public int tomcatThreads;
+
+    @Param("20")
+    public int poolSize;
+
+    @Param("200")
+    public int slowQueryMillis;
+
+    @Param("2")
+    public int fastQueryMillis;
+
+    private ExecutorService executor;
+    private Semaphore primaryPool;
+    private Semaphore readPool;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : new ThreadPoolExecutor(tomcatThreads, tomcatThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        primaryPool = new Semaphore(poolSize, true);
+        readPool = readReplica ? new Semaphore(poolSize, true) : primaryPool;
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(SLOW_CLIENTS)
+    public Object slowAnalytics() throws Exception {
+        return executor.submit(() -> query(readPool, slowQueryMillis)).get();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(FAST_CLIENTS)
+    public Object fastCrud() throws Exception {
+        return executor.submit(() -> query(primaryPool, fastQueryMillis)).get();
+    }
+
+    private static boolean query(Semaphore pool, int millis) throws InterruptedException {
+        pool.acquire();
+        try {
+            Thread.sleep(millis);
+            return true;
+        } finally {
+            pool.release();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.viettel.vgov.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.viettel.vgov.benchmark.BenchmarkData;
+import org.viettel.vgov.dto.response.WorkLogResponseDto;
+import org.viettel.vgov.model.WorkLog;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a page of loaded work logs to response DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkLogMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final WorkLogMapper workLogMapper = new WorkLogMapper();
+    private List<WorkLog> workLogs;
+
+    @Setup
+    public void setUp() {
+        workLogs = BenchmarkData.workLogs(size, BenchmarkData.users(50), BenchmarkData.projects(20));
+    }
+
+    @Benchmark
+    public List<WorkLogResponseDto> toResponseDtos() {
+        return workLogs.stream().map(workLogMapper::toResponseDto).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package org.viettel.vgov.security;
+
+import jakarta.servlet.FilterChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.viettel.vgov.benchmark.BenchmarkData;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.TokenRevocationRepository;
+import org.viettel.vgov.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation and the per-request JWT authentication filter. Tokens carry the user's
+ * id and role, so the filter only checks the denylist and the cached token version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private CacheManager cacheManager;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+
+        user = BenchmarkData.users(1).get(0);
+        token = jwtUtils.generateTokenForUser(user);
+
+        // Empty denylist: every check is answered by the Bloom filter, as for almost all requests
+        TokenDenylist tokenDenylist = new TokenDenylist(Mockito.mock(TokenRevocationRepository.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenDenylist, "expectedRevocations", 10_000);
+        ReflectionTestUtils.setField(tokenDenylist, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(tokenDenylist, "pollOverlap", Duration.ofMinutes(1));
+        tokenDenylist.afterPropertiesSet();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(user.getTokenVersion()));
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build(true);
+        TokenVersions tokenVersions = new TokenVersions(userRepository, cacheManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenVersions, "cacheTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(tokenVersions, "maxCachedUsers", 100_000);
+        tokenVersions.afterPropertiesSet();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtils, tokenDenylist, tokenVersions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String emailFromToken() {
+        return jwtUtils.getEmailFromJwtToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenForUser(user);
+    }
+
+    @Benchmark
+    public Object authenticationFilter() throws Exception {
+        return authenticate(token);
+    }
+
+    private Object authenticate(String bearer) throws Exception {
+        SecurityContextHolder.clearContext();
+        // OncePerRequestFilter marks the request as filtered, so each invocation needs a fresh one
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/worklogs");
+        request.addHeader("Authorization", "Bearer " + bearer);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
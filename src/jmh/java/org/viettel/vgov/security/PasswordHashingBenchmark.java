@@ -0,0 +1,66 @@
+package org.viettel.vgov.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput against the BCrypt cost. Each step of cost doubles the work, so
+ * {@code verify} shows how many logins per second one core sustains at each setting, and
+ * {@code burst} shows a login burst of more clients than cores going through the bounded
+ * hashing pool, which caps throughput at the pool size instead of taking every request thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "10", "12"})
+    public int cost;
+
+    private RehashingBCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new RehashingBCryptPasswordEncoder(cost);
+        hash = bcrypt.encode(PASSWORD);
+        // Queue deep enough for every client, so the burst measures throughput, not rejections
+        bounded = new BoundedPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors(), 64,
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.close();
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return bcrypt.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean burst() {
+        return bounded.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String rehash() {
+        return bcrypt.encode(PASSWORD);
+    }
+}
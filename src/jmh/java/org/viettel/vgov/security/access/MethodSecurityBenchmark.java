@@ -0,0 +1,150 @@
+package org.viettel.vgov.security.access;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.viettel.vgov.benchmark.BenchmarkData;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.ProjectMemberRepository;
+import org.viettel.vgov.security.UserPrincipal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of method security on a project endpoint, for a developer who is a member of
+ * the project: the old {@code @PreAuthorize} expression calling a bean, the typed
+ * {@link CanAccessProject} check, and no check at all. The bean's user and membership
+ * lookups are answered from memory, so the expression numbers leave out the two queries it
+ * ran in the application; the typed check's membership index hits its cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MethodSecurityBenchmark {
+
+    private static final long PROJECT_ID = 7L;
+
+    private Endpoints target;
+    private Endpoints expressionSecured;
+    private Endpoints typedSecured;
+    private GenericApplicationContext context;
+    private CacheManager cacheManager;
+
+    public static class Endpoints {
+
+        @PreAuthorize("hasRole('ADMIN') or hasRole('PM') or @projectSecurityService.canAccessProject(#id, authentication.name)")
+        public Long expression(Long id) {
+            return id;
+        }
+
+        @CanAccessProject
+        public Long typed(Long id) {
+            return id;
+        }
+    }
+
+    /**
+     * Stands in for the removed SpEL bean: resolves the user by email, then checks membership.
+     */
+    public static class ProjectSecurityService {
+
+        private final Map<String, User> usersByEmail;
+        private final Set<String> memberships;
+
+        ProjectSecurityService(User user) {
+            usersByEmail = Map.of(user.getEmail(), user);
+            memberships = Set.of(PROJECT_ID + ":" + user.getId());
+        }
+
+        public boolean canAccessProject(Long projectId, String email) {
+            User user = usersByEmail.get(email);
+            return user != null && memberships.contains(projectId + ":" + user.getId());
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.users(1).get(0);
+        user.setRole(User.Role.dev);
+        UserPrincipal principal = UserPrincipal.create(user);
+        // Benchmark threads are not the setup thread, so the context is shared
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        context = new GenericApplicationContext();
+        context.registerBean("projectSecurityService", ProjectSecurityService.class, () -> new ProjectSecurityService(user));
+        context.refresh();
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(context);
+        PreAuthorizeAuthorizationManager preAuthorize = new PreAuthorizeAuthorizationManager();
+        preAuthorize.setExpressionHandler(expressionHandler);
+
+        ProjectMemberRepository projectMemberRepository = Mockito.mock(ProjectMemberRepository.class);
+        Mockito.when(projectMemberRepository.findActiveProjectIdsByUserId(user.getId())).thenReturn(List.of(PROJECT_ID));
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build(true);
+        ProjectMembershipIndex membershipIndex = new ProjectMembershipIndex(projectMemberRepository, cacheManager,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(membershipIndex, "cacheTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(membershipIndex, "maxCachedUsers", 100_000);
+        membershipIndex.afterPropertiesSet();
+
+        target = new Endpoints();
+        expressionSecured = proxy(AuthorizationManagerBeforeMethodInterceptor.preAuthorize(preAuthorize));
+        typedSecured = proxy(new AuthorizationManagerBeforeMethodInterceptor(
+                new AnnotationMatchingPointcut(null, CanAccessProject.class, true),
+                new ProjectAccessAuthorizationManager(() -> membershipIndex)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        cacheManager.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Long noAuthorization() {
+        return target.typed(PROJECT_ID);
+    }
+
+    @Benchmark
+    public Long preAuthorizeExpression() {
+        return expressionSecured.expression(PROJECT_ID);
+    }
+
+    @Benchmark
+    public Long typedAnnotation() {
+        return typedSecured.typed(PROJECT_ID);
+    }
+
+    private Endpoints proxy(AuthorizationManagerBeforeMethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(interceptor);
+        return (Endpoints) proxyFactory.getProxy();
+    }
+}
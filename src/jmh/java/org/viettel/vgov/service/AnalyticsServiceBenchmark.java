@@ -0,0 +1,61 @@
+package org.viettel.vgov.service;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.viettel.vgov.benchmark.BenchmarkData;
+import org.viettel.vgov.dto.response.AnalyticsResponseDto;
+import org.viettel.vgov.model.Project;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.ProjectRepository;
+import org.viettel.vgov.security.CurrentUserProvider;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly project status timeline for an admin, with the projects served from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int projects;
+
+    @Param({"12", "36"})
+    private int months;
+
+    private AnalyticsService analyticsService;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        List<Project> data = BenchmarkData.projects(projects);
+        User admin = BenchmarkData.users(1).get(0);
+        admin.setRole(User.Role.admin);
+
+        ProjectRepository projectRepository = Mockito.mock(ProjectRepository.class);
+        Mockito.when(projectRepository.findAll()).thenReturn(data);
+        CurrentUserProvider currentUserProvider = Mockito.mock(CurrentUserProvider.class);
+        Mockito.when(currentUserProvider.getUser()).thenReturn(admin);
+
+        analyticsService = new AnalyticsService(null, projectRepository, null, null, currentUserProvider);
+        startDate = BenchmarkData.BASE_DATE.minusMonths(months / 2);
+        endDate = startDate.plusMonths(months - 1);
+    }
+
+    @Benchmark
+    public AnalyticsResponseDto projectTimeline() {
+        return analyticsService.getProjectTimelineAnalytics(startDate, endDate);
+    }
+}
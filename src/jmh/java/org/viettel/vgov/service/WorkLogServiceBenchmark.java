@@ -0,0 +1,73 @@
+package org.viettel.vgov.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.viettel.vgov.benchmark.BenchmarkData;
+import org.viettel.vgov.model.Project;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.model.WorkLog;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filtering and sorting applied to the work logs a caller can see.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkLogServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private WorkLogService workLogService;
+    private List<WorkLog> workLogs;
+    private Long projectId;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(Math.max(size / 100, 10));
+        List<Project> projects = BenchmarkData.projects(Math.max(size / 200, 5));
+        workLogs = BenchmarkData.workLogs(size, users, projects);
+        projectId = projects.get(0).getId();
+        // The filtering and sorting paths touch none of the collaborators
+        workLogService = new WorkLogService(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<WorkLog> filterNone() {
+        return workLogService.applyFilters(workLogs, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<WorkLog> filterByProjectAndDateRange() {
+        return workLogService.applyFilters(workLogs, projectId, null, "2024-03-01", "2024-09-30", null, null, null);
+    }
+
+    @Benchmark
+    public List<WorkLog> filterByHoursAndTaskFeature() {
+        return workLogService.applyFilters(workLogs, null, null, null, null, 2.0, 6.0, "report");
+    }
+
+    @Benchmark
+    public List<WorkLog> sortByWorkDate() {
+        return workLogService.applySorting(workLogs, "workDate", "desc");
+    }
+
+    @Benchmark
+    public List<WorkLog> sortByUser() {
+        return workLogService.applySorting(workLogs, "user", "asc");
+    }
+
+    @Benchmark
+    public List<WorkLog> sortByTask() {
+        return workLogService.applySorting(workLogs, "task", "asc");
+    }
+}
@@ -0,0 +1,68 @@
+package org.viettel.vgov.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A logged-in account shared by the virtual users of one role.
+ */
+class Account {
+
+    private static final int MAX_FREE_SLOTS = 500;
+
+    final String email;
+    final String role;
+    final String token;
+    // (project, date) pairs this account can log work on without hitting an existing entry
+    final List<Slot> freeSlots = new ArrayList<>();
+
+    record Slot(long projectId, LocalDate workDate) {
+    }
+
+    Account(String email, String role, String token) {
+        this.email = email;
+        this.role = role;
+        this.token = token;
+    }
+
+    /**
+     * Finds dates within the account's projects that have no work log yet. The project list
+     * only holds open projects with an active membership, so logging on them is allowed.
+     */
+    void loadFreeSlots(ApiClient api, Random random) {
+        JsonNode workLogs = api.send("setup.worklogs", "GET", "/api/worklogs", token, null);
+        JsonNode projects = api.send("setup.projects", "GET", "/api/projects?page=0&size=200", token, null);
+        if (workLogs == null || projects == null) {
+            return;
+        }
+        Set<Slot> taken = new HashSet<>();
+        for (JsonNode workLog : workLogs) {
+            taken.add(new Slot(workLog.get("projectId").asLong(), LocalDate.parse(workLog.get("workDate").asText())));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (JsonNode project : projects.path("data").path("items")) {
+            long projectId = project.get("id").asLong();
+            LocalDate start = LocalDate.parse(project.get("startDate").asText());
+            LocalDate end = project.hasNonNull("endDate") ? LocalDate.parse(project.get("endDate").asText()) : today;
+            LocalDate to = end.isAfter(today) ? today : end;
+            for (LocalDate day = start; !day.isAfter(to); day = day.plusDays(1)) {
+                Slot slot = new Slot(projectId, day);
+                if (!taken.contains(slot)) {
+                    freeSlots.add(slot);
+                }
+            }
+        }
+        Collections.shuffle(freeSlots, random);
+        if (freeSlots.size() > MAX_FREE_SLOTS) {
+            freeSlots.subList(MAX_FREE_SLOTS, freeSlots.size()).clear();
+        }
+    }
+}
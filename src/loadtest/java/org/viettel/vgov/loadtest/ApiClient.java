@@ -0,0 +1,95 @@
+package org.viettel.vgov.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends API requests and records each one under its scenario step. Requests that start
+ * before the measured window opens are sent but not recorded.
+ */
+class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    void startMeasuring(long fromNanos) {
+        measureFrom = fromNanos;
+    }
+
+    Map<String, StepStats> steps() {
+        return steps;
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        JsonNode response = send("auth.login", "POST", "/api/auth/login", null,
+                Map.of("email", email, "password", password));
+        if (response == null || !response.hasNonNull("token")) {
+            throw new IllegalStateException("Login failed for " + email);
+        }
+        return response.get("token").asText();
+    }
+
+    /**
+     * @return the parsed response body, or {@code null} if the request failed or returned an error status
+     */
+    JsonNode send(String step, String method, String path, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body for " + step, e);
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() < 400;
+            if (!success || response.body().length == 0) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (start >= measureFrom) {
+                steps.computeIfAbsent(step, name -> new StepStats()).record(System.nanoTime() - start, success);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.viettel.vgov.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the REST API with a weighted mix of admin, PM and member users.
+ * Settings come from {@code loadtest.properties}, overridable as {@code key=value} arguments;
+ * results are checked against {@code loadtest-thresholds.properties} and the process exits
+ * with status 1 if any threshold is exceeded.
+ * <p>
+ * Each virtual user runs on its own virtual thread.
+ */
+public class LoadTest {
+
+    private static final List<String> ROLES = List.of("admin", "pm", "dev");
+
+    public static void main(String[] args) throws Exception {
+        Properties config = load("loadtest.properties");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            config.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        Properties thresholds = load(config.getProperty("thresholds"));
+        System.exit(new LoadTest().run(config, thresholds) ? 0 : 1);
+    }
+
+    private boolean run(Properties config, Properties thresholds) throws Exception {
+        int users = Integer.parseInt(config.getProperty("users"));
+        Duration duration = DurationStyle.detectAndParse(config.getProperty("duration"));
+        Duration warmup = DurationStyle.detectAndParse(config.getProperty("warmup"));
+        Duration thinkTime = DurationStyle.detectAndParse(config.getProperty("think-time"));
+        ApiClient api = new ApiClient(config.getProperty("base-url"));
+        Random random = new Random(42);
+
+        Map<String, Integer> usersPerRole = allocate(users, config.getProperty("mix"));
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (String role : ROLES) {
+            int count = usersPerRole.getOrDefault(role, 0);
+            if (count == 0) {
+                continue;
+            }
+            List<Account> accounts = new ArrayList<>();
+            for (String email : accountEmails(config, role)) {
+                if (accounts.size() == count) {
+                    break;
+                }
+                Account account = new Account(email, role, api.login(email, config.getProperty("password")));
+                if ("dev".equals(role)) {
+                    account.loadFreeSlots(api, random);
+                }
+                accounts.add(account);
+            }
+            // Users sharing an account split its free dates, so concurrent creates never collide
+            Map<Account, Integer> sharing = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                sharing.merge(accounts.get(i % accounts.size()), 1, Integer::sum);
+            }
+            for (int i = 0; i < count; i++) {
+                Account account = accounts.get(i % accounts.size());
+                int index = i / accounts.size();
+                Deque<Account.Slot> slots = new ArrayDeque<>();
+                for (int s = index; s < account.freeSlots.size(); s += sharing.get(account)) {
+                    slots.add(account.freeSlots.get(s));
+                }
+                virtualUsers.add(new VirtualUser(api, account, slots, end, thinkTime, random.nextLong()));
+            }
+            System.out.printf("%-5s %4d users on %d account(s)%n", role, count, accounts.size());
+        }
+
+        System.out.printf("Running %d users for %s after %s warm-up against %s%n",
+                virtualUsers.size(), duration, warmup, config.getProperty("base-url"));
+        api.startMeasuring(measureFrom);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            virtualUsers.forEach(executor::submit);
+            executor.shutdown();
+            if (!executor.awaitTermination(end - System.nanoTime() + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS)) {
+                System.out.println("Some users did not finish within a minute of the end; stopping them");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return report(api, duration.toMillis() / 1000.0, thresholds);
+    }
+
+    private boolean report(ApiClient api, double seconds, Properties thresholds) {
+        Map<String, StepStats.Summary> summaries = new TreeMap<>();
+        api.steps().forEach((step, stats) -> summaries.put(step, stats.summarize(seconds)));
+
+        System.out.printf("%n%-28s %8s %7s %9s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int total = 0;
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, StepStats.Summary> entry : summaries.entrySet()) {
+            String step = entry.getKey();
+            StepStats.Summary s = entry.getValue();
+            total += s.requests();
+            System.out.printf("%-28s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    step, s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+            check(violations, step + " p95", s.p95(), threshold(thresholds, step, "p95"), "ms");
+            check(violations, step + " p99", s.p99(), threshold(thresholds, step, "p99"), "ms");
+            check(violations, step + " error rate", s.errorRate(), threshold(thresholds, step, "error-rate"), "");
+        }
+        double throughput = total / seconds;
+        System.out.printf("%-28s %8d %7s %9.1f%n", "total", total, "", throughput);
+        String minThroughput = thresholds.getProperty("min-throughput");
+        if (minThroughput != null && throughput < Double.parseDouble(minThroughput)) {
+            violations.add(String.format("throughput %.1f req/s is below %s req/s", throughput, minThroughput));
+        }
+
+        if (violations.isEmpty()) {
+            System.out.println("\nAll thresholds met");
+            return true;
+        }
+        System.out.println("\nThresholds exceeded:");
+        violations.forEach(violation -> System.out.println("  " + violation));
+        return false;
+    }
+
+    private static void check(List<String> violations, String name, double value, Double limit, String unit) {
+        if (limit != null && value > limit) {
+            violations.add(String.format("%s %.3f%s exceeds %s%s", name, value, unit, limit, unit));
+        }
+    }
+
+    private static Double threshold(Properties thresholds, String step, String metric) {
+        String value = thresholds.getProperty(step + "." + metric, thresholds.getProperty("default." + metric));
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static Map<String, Integer> allocate(int users, String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] roleAndWeight = part.trim().split(":");
+            if (!ROLES.contains(roleAndWeight[0])) {
+                throw new IllegalArgumentException("Unknown role in mix: " + roleAndWeight[0]);
+            }
+            weights.put(roleAndWeight[0], Integer.parseInt(roleAndWeight[1]));
+        }
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        Map<String, Integer> allocation = new LinkedHashMap<>();
+        int assigned = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            int count = entry.getValue() == 0 ? 0 : Math.max(1, Math.round((float) users * entry.getValue() / totalWeight));
+            allocation.put(entry.getKey(), count);
+            assigned += count;
+        }
+        // Rounding leftovers go to (or come from) the heaviest role
+        String heaviest = weights.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        allocation.merge(heaviest, users - assigned, Integer::sum);
+        return allocation;
+    }
+
+    private static List<String> accountEmails(Properties config, String role) {
+        return Arrays.stream(config.getProperty(role + "s", "").split(","))
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Loads a file if {@code name} is an existing path, otherwise the classpath resource of that name.
+     */
+    private static Properties load(String name) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(name);
+        try (InputStream in = Files.isRegularFile(path) ? Files.newInputStream(path)
+                : LoadTest.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + name);
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
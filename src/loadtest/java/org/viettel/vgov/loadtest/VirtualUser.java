@@ -0,0 +1,122 @@
+package org.viettel.vgov.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated user looping over its role's weighted scenario steps until the run ends.
+ */
+class VirtualUser implements Runnable {
+
+    private static final Map<String, Map<String, Integer>> STEP_WEIGHTS = Map.of(
+            "admin", weights("analytics.employees", 20, "analytics.workload", 20, "analytics.projects", 15,
+                    "analytics.project-timeline", 10, "dashboard.overview", 20, "worklogs.list", 15),
+            "pm", weights("worklogs.list", 40, "analytics.projects", 20, "analytics.project-timeline", 15,
+                    "notifications.list", 25),
+            "dev", weights("worklogs.list", 30, "notifications.list", 25, "notifications.unread-count", 10,
+                    "dashboard.overview", 15, "worklogs.create", 20));
+
+    private final ApiClient api;
+    private final Account account;
+    private final Deque<Account.Slot> slots;
+    private final long endNanos;
+    private final long thinkTimeMillis;
+    private final Random random;
+
+    VirtualUser(ApiClient api, Account account, Deque<Account.Slot> slots, long endNanos, Duration thinkTime, long seed) {
+        this.api = api;
+        this.account = account;
+        this.slots = slots != null ? slots : new ArrayDeque<>();
+        this.endNanos = endNanos;
+        this.thinkTimeMillis = thinkTime.toMillis();
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        // Stagger the start so users do not fire in lock-step
+        pause();
+        while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+            execute(pickStep());
+            pause();
+        }
+    }
+
+    private void execute(String step) {
+        switch (step) {
+            case "worklogs.list" -> get(step, "/api/worklogs");
+            case "worklogs.create" -> createAndDeleteWorkLog();
+            case "dashboard.overview" -> get(step, "/api/dashboard/overview");
+            case "notifications.list" -> get(step, "/api/notifications?page=0&size=10");
+            case "notifications.unread-count" -> get(step, "/api/notifications/unread/count");
+            case "analytics.employees" -> get(step, "/api/analytics/employees");
+            case "analytics.workload" -> get(step, "/api/analytics/workload");
+            case "analytics.projects" -> get(step, "/api/analytics/projects");
+            case "analytics.project-timeline" -> get(step, "/api/analytics/project-timeline");
+            default -> throw new IllegalArgumentException("Unknown step " + step);
+        }
+    }
+
+    private void createAndDeleteWorkLog() {
+        Account.Slot slot = slots.pollFirst();
+        if (slot == null) {
+            // No free date left for this account; fall back to reading
+            get("worklogs.list", "/api/worklogs");
+            return;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("projectId", slot.projectId());
+        body.put("workDate", slot.workDate().toString());
+        body.put("hoursWorked", 1 + random.nextInt(8));
+        body.put("taskFeature", "Load test");
+        body.put("workDescription", "Created by the load test harness");
+        JsonNode created = api.send("worklogs.create", "POST", "/api/worklogs", account.token, body);
+        if (created != null && created.hasNonNull("id")) {
+            // Deleting keeps the data set stable across runs and frees the date again
+            api.send("worklogs.delete", "DELETE", "/api/worklogs/" + created.get("id").asLong(), account.token, null);
+            slots.addLast(slot);
+        }
+    }
+
+    private void get(String step, String path) {
+        api.send(step, "GET", path, account.token, null);
+    }
+
+    private String pickStep() {
+        Map<String, Integer> weights = STEP_WEIGHTS.get(account.role);
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    private void pause() {
+        if (thinkTimeMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep((long) (random.nextDouble() * 2 * thinkTimeMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Integer> weights(Object... stepsAndWeights) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < stepsAndWeights.length; i += 2) {
+            weights.put((String) stepsAndWeights[i], (Integer) stepsAndWeights[i + 1]);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,104 @@
+package org.viettel.vgov.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many requests of one endpoint class run at once. A request that finds every
+ * slot taken waits up to {@code maxWait}, behind at most {@code maxWaiting} others; past
+ * either limit it is rejected instead of piling up on threads and connections.
+ */
+public class Bulkhead {
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("vgov.bulkhead.active", permits, p -> this.maxConcurrent - p.availablePermits())
+                .tag("bulkhead", name)
+                .description("Requests running inside the bulkhead")
+                .register(meterRegistry);
+        Gauge.builder("vgov.bulkhead.waiting", waiting, AtomicInteger::get)
+                .tag("bulkhead", name)
+                .description("Requests queued for a slot in the bulkhead")
+                .register(meterRegistry);
+        queueFull = rejections(meterRegistry, "queue-full");
+        timedOut = rejections(meterRegistry, "timeout");
+    }
+
+    /**
+     * The bulkhead the current request runs in, or null outside of one.
+     */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Takes a slot, waiting for one if the queue has room. Every successful call must be
+     * paired with {@link #exit()}.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        // A zero timeout still honours fairness, unlike tryAcquire()
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            queueFull.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            timedOut.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    static void setCurrent(Bulkhead bulkhead) {
+        if (bulkhead == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(bulkhead);
+        }
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("vgov.bulkhead.rejected")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .description("Requests turned away with 503 because the bulkhead was saturated")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package org.viettel.vgov.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.viettel.vgov.dto.response.StandardResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs each request inside the bulkhead of its endpoint class and answers 503 with
+ * Retry-After once that bulkhead is saturated, so a burst of heavy reports cannot take the
+ * threads and connections that CRUD traffic needs. Ordered after Spring Security and the
+ * rate limiter, so unauthenticated and throttled requests are turned away before they take
+ * a slot.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 3)
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes = new ArrayList<>();
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(BulkheadProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        for (Map.Entry<String, BulkheadProperties.Group> entry : properties.getGroups().entrySet()) {
+            BulkheadProperties.Group group = entry.getValue();
+            Bulkhead bulkhead = new Bulkhead(entry.getKey(), group.getMaxConcurrent(), group.getMaxWaiting(),
+                    group.getMaxWait(), meterRegistry);
+            routes.add(new Route(group.getPaths().stream().map(String::trim).toList(), bulkhead));
+        }
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Bulkhead bulkhead = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            reject(response);
+            return;
+        }
+
+        Bulkhead.setCurrent(bulkhead);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Bulkhead.setCurrent(null);
+            bulkhead.exit();
+        }
+    }
+
+    private Bulkhead match(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.patterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route.bulkhead();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                StandardResponse.error("SERVICE_BUSY", "The server is busy, please retry later"));
+    }
+
+    private record Route(List<String> patterns, Bulkhead bulkhead) {
+    }
+}
@@ -0,0 +1,33 @@
+package org.viettel.vgov.bulkhead;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+    private Duration retryAfter = Duration.ofSeconds(5);
+    // Checked in order; a request joins the first group with a matching path
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        private List<String> paths = new ArrayList<>();
+        private int maxConcurrent = 50;
+        private int maxWaiting = 50;
+        private Duration maxWait = Duration.ofSeconds(2);
+        // Connections reserved for this group; 0 shares the main pool
+        private int poolSize;
+        // Database for the reserved pool; defaults to the primary and the read replicas, routed
+        private String url;
+    }
+}
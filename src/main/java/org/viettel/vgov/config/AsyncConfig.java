@@ -0,0 +1,39 @@
+package org.viettel.vgov.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Value("${app.file.image.worker-threads:2}")
+    private int imageWorkerThreads;
+
+    @Value("${app.file.image.queue-capacity:100}")
+    private int imageQueueCapacity;
+
+    // Stays on platform threads in virtual-thread mode: decoding is CPU bound and the small
+    // pool is what keeps concurrent decodes, and their memory, in check
+    @Bean(name = "imageTaskExecutor")
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageWorkerThreads);
+        executor.setMaxPoolSize(imageWorkerThreads);
+        executor.setQueueCapacity(imageQueueCapacity);
+        executor.setThreadNamePrefix("image-");
+        // Image decoding is memory hungry; when the queue is full skip the job and keep serving originals
+        executor.setRejectedExecutionHandler((task, pool) ->
+                logger.warn("Image processing queue is full, skipping thumbnail generation"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,147 @@
+package org.viettel.vgov.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import org.viettel.vgov.bulkhead.BulkheadProperties;
+import org.viettel.vgov.datasource.BulkheadRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registers the bulkhead settings and, when a bulkhead reserves connections, puts a
+ * {@link BulkheadRoutingDataSource} in front of the application DataSource. Reserved pools
+ * share the primary's credentials and Hikari settings. With read replicas configured, a
+ * bulkhead gets a pool on the primary and one on each replica, routed with the same health
+ * checks and fallback as the main DataSource.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourceRouting(Environment environment,
+                                                              ObjectProvider<DataSourceProperties> dataSourceProperties,
+                                                              ObjectProvider<MeterRegistry> meterRegistry,
+                                                              ObjectProvider<ReadReplicaConfig> readReplicaConfig) {
+        return new BulkheadDataSourceRouting(environment, dataSourceProperties, meterRegistry, readReplicaConfig);
+    }
+
+    // Ordered, so it wraps the pool before the SQL stats proxy wraps the result. Closes the reserved
+    // pools itself: the context destroys the DataSource bean it created, not the routing wrapper.
+    // Replica-routed pools are closed by ReadReplicaConfig, which also health-checks them
+    static class BulkheadDataSourceRouting implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private static final Logger logger = LoggerFactory.getLogger(BulkheadDataSourceRouting.class);
+
+        private final Environment environment;
+        private final ObjectProvider<DataSourceProperties> dataSourceProperties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final ObjectProvider<ReadReplicaConfig> readReplicaConfig;
+        private volatile BulkheadRoutingDataSource routing;
+
+        BulkheadDataSourceRouting(Environment environment, ObjectProvider<DataSourceProperties> dataSourceProperties,
+                                  ObjectProvider<MeterRegistry> meterRegistry,
+                                  ObjectProvider<ReadReplicaConfig> readReplicaConfig) {
+            this.environment = environment;
+            this.dataSourceProperties = dataSourceProperties;
+            this.meterRegistry = meterRegistry;
+            this.readReplicaConfig = readReplicaConfig;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            BulkheadProperties properties = Binder.get(environment)
+                    .bind("app.bulkhead", BulkheadProperties.class)
+                    .orElseGet(BulkheadProperties::new);
+            Set<String> pooled = properties.getGroups().entrySet().stream()
+                    .filter(group -> group.getValue().getPoolSize() > 0)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            if (!properties.isEnabled() || pooled.isEmpty()) {
+                return bean;
+            }
+            logger.info("Reserving separate connection pools for bulkheads {}", pooled);
+            routing = new BulkheadRoutingDataSource(dataSource, pooled,
+                    name -> pool(name, properties.getGroups().get(name)));
+            routing.afterPropertiesSet();
+            return routing;
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            if (routing != null) {
+                routing.close();
+            }
+        }
+
+        // Package-private so BulkheadConfigTests can open a group's pool without a request
+        DataSource pool(String name, BulkheadProperties.Group group) {
+            DataSourceProperties properties = dataSourceProperties.getObject();
+            if (StringUtils.hasText(group.getUrl())) {
+                return hikari(properties, group, group.getUrl(), "vgov-" + name, false);
+            }
+            List<String> replicaUrls = Binder.get(environment)
+                    .bind("app.datasource.replica-urls", Bindable.listOf(String.class))
+                    .orElse(List.of())
+                    .stream()
+                    .filter(StringUtils::hasText)
+                    .toList();
+            HikariDataSource primary = hikari(properties, group, properties.determineUrl(), "vgov-" + name, false);
+            ReadReplicaConfig replicaConfig = readReplicaConfig.getIfAvailable();
+            if (replicaUrls.isEmpty() || replicaConfig == null) {
+                return primary;
+            }
+
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (String url : replicaUrls) {
+                String replica = name + "-replica-" + (replicas.size() + 1);
+                replicas.put(replica, hikari(properties, group, url.trim(), "vgov-" + replica, true));
+            }
+            return replicaConfig.routeReserved(primary, replicas, meterRegistry.getObject());
+        }
+
+        private HikariDataSource hikari(DataSourceProperties properties, BulkheadProperties.Group group, String url,
+                                        String poolName, boolean replica) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName(poolName);
+            dataSource.setMaximumPoolSize(group.getPoolSize());
+            if (dataSource.getMinimumIdle() > group.getPoolSize()) {
+                dataSource.setMinimumIdle(group.getPoolSize());
+            }
+            dataSource.setReadOnly(replica);
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            return dataSource;
+        }
+    }
+}
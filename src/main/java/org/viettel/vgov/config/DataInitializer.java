@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.viettel.vgov.model.*;
@@ -15,6 +17,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1) // sample accounts first; SyntheticDataGenerator adds bulk data after
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
     
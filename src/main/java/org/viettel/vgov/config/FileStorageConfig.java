@@ -0,0 +1,86 @@
+package org.viettel.vgov.config;
+
+import io.minio.MinioClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.viettel.vgov.repository.FileBlobRepository;
+import org.viettel.vgov.repository.StoredFileRepository;
+import org.viettel.vgov.storage.DeduplicatingFileStorage;
+import org.viettel.vgov.storage.FileStorage;
+import org.viettel.vgov.storage.LocalFileStorage;
+import org.viettel.vgov.storage.MinioFileStorage;
+import org.viettel.vgov.storage.PresignedUrlCache;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class FileStorageConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageConfig.class);
+
+    @Value("${app.file.storage:local}")
+    private String storageType;
+
+    @Value("${app.file.upload-dir:./uploads}")
+    private String uploadDir;
+
+    @Value("${app.file.deduplicate:false}")
+    private boolean deduplicate;
+    
+    @Bean
+    public FileStorage fileStorage(MinIOConfig minIOConfig, MinioClient minioClient,
+                                   StoredFileRepository storedFileRepository,
+                                   FileBlobRepository fileBlobRepository,
+                                   PlatformTransactionManager transactionManager) {
+        FileStorage backend = backendStorage(minIOConfig, minioClient);
+        if (!deduplicate) {
+            return backend;
+        }
+        logger.info("Storing files content-addressed with deduplication");
+        return new DeduplicatingFileStorage(backend, storedFileRepository, fileBlobRepository,
+                new TransactionTemplate(transactionManager));
+    }
+    
+    private FileStorage backendStorage(MinIOConfig minIOConfig, MinioClient minioClient) {
+        switch (storageType.toLowerCase()) {
+            case "minio":
+                logger.info("Using MinIO file storage (bucket: {})", minIOConfig.getBucketName());
+                MinioFileStorage minioStorage = new MinioFileStorage(
+                        minioClient, minIOConfig.getBucketName(), minIOConfig.getPartSize().toBytes(),
+                        presignedUrlCache(minIOConfig, minioClient));
+                minioStorage.ensureBucket();
+                return minioStorage;
+            case "local":
+                logger.info("Using local file storage (directory: {})", uploadDir);
+                return new LocalFileStorage(Paths.get(uploadDir));
+            default:
+                throw new IllegalStateException("Unsupported file storage type: " + storageType);
+        }
+    }
+    
+    private PresignedUrlCache presignedUrlCache(MinIOConfig minIOConfig, MinioClient minioClient) {
+        MinIOConfig.Presigned presigned = minIOConfig.getPresigned();
+        if (!presigned.isEnabled()) {
+            return null;
+        }
+        
+        MinioClient signer = minioClient;
+        if (StringUtils.hasText(presigned.getPublicEndpoint())) {
+            // Signing is done locally, so this client never has to reach the public host
+            signer = MinioClient.builder()
+                    .endpoint(presigned.getPublicEndpoint())
+                    .region(minIOConfig.getRegion())
+                    .credentials(minIOConfig.getAccessKey(), minIOConfig.getSecretKey())
+                    .build();
+        }
+        logger.info("Serving files through presigned MinIO URLs (expiry: {})", presigned.getExpiry());
+        return new PresignedUrlCache(signer, minIOConfig.getBucketName(),
+                presigned.getExpiry(), presigned.getRefreshBefore());
+    }
+}
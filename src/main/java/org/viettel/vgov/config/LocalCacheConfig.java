@@ -0,0 +1,21 @@
+package org.viettel.vgov.config;
+
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Node-local Ehcache caches the application fills itself, such as token versions. Separate
+ * from Hibernate's second-level cache, whose regions are declared in ehcache.xml; each
+ * component creates its cache with the size and TTL from its own settings.
+ */
+@Configuration
+public class LocalCacheConfig {
+
+    // One per application context: the JCache provider would hand every context in the JVM the same manager
+    @Bean(destroyMethod = "close")
+    public CacheManager localCacheManager() {
+        return CacheManagerBuilder.newCacheManagerBuilder().build(true);
+    }
+}
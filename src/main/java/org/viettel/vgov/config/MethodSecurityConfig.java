@@ -0,0 +1,51 @@
+package org.viettel.vgov.config;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.util.function.SingletonSupplier;
+import org.viettel.vgov.security.access.CanAccessProject;
+import org.viettel.vgov.security.access.CanAccessUserWorkLogs;
+import org.viettel.vgov.security.access.ProjectAccessAuthorizationManager;
+import org.viettel.vgov.security.access.ProjectMembershipIndex;
+import org.viettel.vgov.security.access.UserWorkLogAccessAuthorizationManager;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Registers the typed access annotations next to {@code @PreAuthorize}, in the same slot of
+ * the method security chain. Advisors are created before ordinary beans, so the membership
+ * index is only looked up on the first check.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MethodSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor projectAccessAuthorization(ObjectProvider<ProjectMembershipIndex> membershipIndex) {
+        return authorizationAdvisor(CanAccessProject.class,
+                new ProjectAccessAuthorizationManager(SingletonSupplier.of(membershipIndex::getObject)));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor userWorkLogAccessAuthorization() {
+        return authorizationAdvisor(CanAccessUserWorkLogs.class, new UserWorkLogAccessAuthorizationManager());
+    }
+
+    private static Advisor authorizationAdvisor(Class<? extends Annotation> annotationType,
+                                                AuthorizationManager<MethodInvocation> authorizationManager) {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                new AnnotationMatchingPointcut(null, annotationType, true), authorizationManager);
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+}
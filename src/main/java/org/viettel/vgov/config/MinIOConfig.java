@@ -5,6 +5,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "app.minio")
@@ -16,12 +19,25 @@ public class MinIOConfig {
     private String secretKey;
     private String bucketName;
     private boolean secure;
+    private DataSize partSize = DataSize.ofMegabytes(10);
+    private String region = "us-east-1";
+    private Presigned presigned = new Presigned();
     
     @Bean
     public MinioClient minioClient() {
         return MinioClient.builder()
                 .endpoint(endpoint)
+                .region(region)
                 .credentials(accessKey, secretKey)
                 .build();
     }
+    
+    @Data
+    public static class Presigned {
+        private boolean enabled;
+        // Host browsers use to reach MinIO; the signature covers the host, so it must match
+        private String publicEndpoint;
+        private Duration expiry = Duration.ofMinutes(15);
+        private Duration refreshBefore = Duration.ofMinutes(2);
+    }
 }
@@ -0,0 +1,58 @@
+package org.viettel.vgov.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.viettel.vgov.monitoring.MetricsRoles;
+import org.viettel.vgov.monitoring.RoleTaggingObservationConvention;
+import org.viettel.vgov.monitoring.RowCountingResultSetFactory;
+import org.viettel.vgov.monitoring.SqlStatsListener;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MonitoringConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.monitoring.sql.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor sqlStatsDataSourceProxy(Environment environment) {
+        boolean countReadRows = environment.getProperty("app.monitoring.sql.count-read-rows", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatsListener());
+                // Counting rows read means proxying every result set, so it is left to diagnosis
+                if (countReadRows) {
+                    builder.proxyResultSet(new RowCountingResultSetFactory());
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new RoleTaggingObservationConvention();
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and(Tag.of(MetricsRoles.TAG, MetricsRoles.currentRole()));
+    }
+}
@@ -0,0 +1,35 @@
+package org.viettel.vgov.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.viettel.vgov.ratelimit.RateLimitBackend;
+import org.viettel.vgov.ratelimit.RateLimitProperties;
+
+/**
+ * Registers the rate limit settings and periodically drops idle buckets from the backend,
+ * so one-off callers such as scanners do not accumulate.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    private final RateLimitProperties properties;
+    private final RateLimitBackend backend;
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:1m}")
+    public void evictIdleBuckets() {
+        int evicted = backend.evictIdle(properties.getIdleTimeout());
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.viettel.vgov.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.viettel.vgov.datasource.RecentWriters;
+import org.viettel.vgov.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes
+ * {@code @Transactional(readOnly = true)} work to read replicas. Only active when
+ * {@code app.datasource.replica-urls} is set; replicas share the primary's credentials
+ * and Hikari settings.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica-urls:}'.trim().isEmpty()")
+@ConfigurationProperties(prefix = "app.datasource")
+@Data
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    private List<String> replicaUrls = new ArrayList<>();
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ReplicaRoutingDataSource routingDataSource;
+
+    // Routers of the bulkheads' reserved pools, health-checked and closed with the main one
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<ReplicaRoutingDataSource> reservedRoutingDataSources = new CopyOnWriteArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private RecentWriters recentWriters;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool(properties, environment, meterRegistry, properties.determineUrl(), "vgov-primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(properties, environment, meterRegistry, url.trim(), "vgov-" + name);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        logger.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, recentWriters(), meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Routes a separate set of pools, one on the primary and one per replica, the way the
+     * main DataSource is routed: the same health checks and read-your-writes window. This
+     * configuration checks and closes the pools. Reads stay on the primary until the next
+     * health check.
+     */
+    public DataSource routeReserved(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource reserved = new ReplicaRoutingDataSource(primary, replicas, recentWriters(), meterRegistry);
+        reserved.afterPropertiesSet();
+        reservedRoutingDataSources.add(reserved);
+        return new LazyConnectionDataSourceProxy(reserved);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-health-check-interval:10s}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkHealth();
+        }
+        reservedRoutingDataSources.forEach(ReplicaRoutingDataSource::checkHealth);
+    }
+
+    @PreDestroy
+    public void closeDataSources() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+        for (ReplicaRoutingDataSource reserved : reservedRoutingDataSources) {
+            reserved.close();
+        }
+    }
+
+    private synchronized RecentWriters recentWriters() {
+        if (recentWriters == null) {
+            recentWriters = new RecentWriters(readYourWritesWindow);
+        }
+        return recentWriters;
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                  String url, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        // The pools are hidden behind the routing DataSource, so Boot cannot bind their metrics itself
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+}
@@ -0,0 +1,375 @@
+package org.viettel.vgov.config;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.viettel.vgov.model.Project;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.util.TextNormalizer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bulk-loads a large synthetic organisation for performance testing: users, PMs, projects,
+ * memberships whose workload stays under 100% per user, every weekday's work logs over the
+ * configured years, and notifications. Rows are streamed with PostgreSQL COPY and every
+ * user shares one password hash, so millions of rows load in minutes.
+ * <p>
+ * Only active with the {@code synthetic-data} profile, and only once: it skips if the
+ * generated users already exist.
+ */
+@Component
+@Profile("synthetic-data")
+@Order(Ordered.LOWEST_PRECEDENCE) // after DataInitializer, so the sample accounts still exist
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String CODE_PREFIX = "GEN";
+    private static final String PM_EMAIL_PREFIX = "gen.pm";
+    private static final String[] FAMILY_NAMES = {
+            "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"
+    };
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Hữu", "Minh", "Thanh", "Quốc", "Ngọc", "Đức", "Thu", "Hoài"};
+    private static final String[] GIVEN_NAMES = {
+            "An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hạnh", "Hiếu", "Hoa", "Hùng", "Hương", "Khánh",
+            "Lan", "Linh", "Long", "Mai", "Minh", "Nam", "Nga", "Phong", "Phương", "Quân", "Sơn", "Tâm", "Thảo",
+            "Trang", "Trung", "Tuấn", "Vân", "Việt", "Yến"
+    };
+    private static final String[] PROJECT_SUBJECTS = {
+            "Cổng dịch vụ công", "Quản lý hồ sơ", "Hệ thống báo cáo", "Cơ sở dữ liệu dân cư", "Văn phòng điện tử",
+            "Quản lý văn bản", "Thanh toán trực tuyến", "Giám sát hạ tầng", "Quản lý tài sản", "Cổng thông tin"
+    };
+    private static final String[] PROJECT_OWNERS = {
+            "Bộ Tài chính", "Bộ Y tế", "Bộ Giáo dục", "Tỉnh Hà Nam", "TP. Đà Nẵng", "Tỉnh Bình Dương",
+            "Tổng cục Thuế", "Kho bạc Nhà nước", "Bộ Nội vụ", "Tỉnh Quảng Ninh"
+    };
+    private static final String[] TASK_FEATURES = {
+            "Phân tích yêu cầu", "Thiết kế giao diện", "API backend", "Tích hợp hệ thống", "Kiểm thử chức năng",
+            "Sửa lỗi", "Báo cáo thống kê", "Triển khai", "Tối ưu hiệu năng", "Họp với khách hàng"
+    };
+    private static final String[][] NOTIFICATIONS = {
+            {"PROJECT_ASSIGNMENT", "Phân công dự án mới", "Bạn đã được thêm vào dự án %s"},
+            {"PROJECT_STATUS_CHANGE", "Cập nhật trạng thái dự án", "Dự án %s đã thay đổi trạng thái"},
+            {"WORKLOAD_REMINDER", "Nhắc nhở khai báo giờ làm", "Vui lòng cập nhật giờ làm cho dự án %s"}
+    };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final WorkLogPartitionManager partitionManager;
+
+    @Value("${app.synthetic-data.users:1000}")
+    private int userCount;
+
+    @Value("${app.synthetic-data.projects:200}")
+    private int projectCount;
+
+    @Value("${app.synthetic-data.years:2}")
+    private int years;
+
+    @Value("${app.synthetic-data.notifications-per-user:20}")
+    private int notificationsPerUser;
+
+    @Value("${app.synthetic-data.password:123456}")
+    private String password;
+
+    @Value("${app.synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic-data.copy-chunk-rows:50000}")
+    private int chunkRows;
+
+    private record Member(long userId, long projectId, LocalDate joined, LocalDate left, int workload) {
+    }
+
+    private record ProjectRow(long id, LocalDate start, LocalDate end, Project.Status status, String name) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE employee_code LIKE ?)", Boolean.class, CODE_PREFIX + "%"))) {
+            logger.info("Synthetic data already loaded, skipping generation");
+            return;
+        }
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(years);
+        int pmCount = Math.max(1, projectCount / 8);
+        logger.info("Generating synthetic data: {} users, {} PMs, {} projects, {} years of work logs",
+                userCount, pmCount, projectCount, years);
+
+        partitionManager.createPartitions(YearMonth.from(from), YearMonth.from(today));
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            // One BCrypt hash shared by every generated user; hashing per row would dominate the load
+            String passwordHash = passwordEncoder.encode(password);
+
+            List<Long> pmIds = copyUsers(copy, random, passwordHash, pmCount, true);
+            List<Long> userIds = copyUsers(copy, random, passwordHash, userCount, false);
+            List<String> pmEmails = new ArrayList<>();
+            for (int i = 1; i <= pmCount; i++) {
+                pmEmails.add(PM_EMAIL_PREFIX + i + "@vgov.vn");
+            }
+
+            List<ProjectRow> projects = copyProjects(copy, random, pmEmails, from, today);
+            List<Member> members = copyMembers(copy, random, userIds, projects, today);
+            long workLogs = copyWorkLogs(copy, random, members, from, today);
+            long notifications = copyNotifications(copy, random, userIds, members, projects, today);
+
+            for (String table : List.of("users", "projects", "project_members", "work_logs", "notifications")) {
+                jdbcTemplate.execute("ANALYZE " + table);
+            }
+            logger.info("Synthetic data loaded in {} s: {} users, {} projects, {} memberships, {} work logs, {} notifications",
+                    (System.nanoTime() - started) / 1_000_000_000, pmIds.size() + userIds.size(), projects.size(),
+                    members.size(), workLogs, notifications);
+        }
+    }
+
+    private List<Long> copyUsers(CopyManager copy, Random random, String passwordHash, int count, boolean pm)
+            throws SQLException, IOException {
+        CsvChunks csv = new CsvChunks(copy, "users (employee_code, full_name, email, password_hash, role, gender, " +
+                "birth_date, is_active, search_text, created_at)");
+        String codePrefix = CODE_PREFIX + (pm ? "PM" : "");
+        String emailPrefix = pm ? PM_EMAIL_PREFIX : "gen.user";
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= count; i++) {
+            String code = String.format("%s%06d", codePrefix, i);
+            String fullName = pick(random, FAMILY_NAMES) + " " + pick(random, MIDDLE_NAMES) + " " + pick(random, GIVEN_NAMES);
+            String email = emailPrefix + i + "@vgov.vn";
+            User.Role role = pm ? User.Role.pm : randomMemberRole(random);
+            User.Gender gender = random.nextBoolean() ? User.Gender.male : User.Gender.female;
+            LocalDate birthDate = LocalDate.of(1970 + random.nextInt(32), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            csv.row(code, fullName, email, passwordHash, role.name(), gender.name(), birthDate,
+                    random.nextInt(100) >= 3, TextNormalizer.searchText(fullName, email, code), now);
+        }
+        csv.finish();
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE employee_code LIKE ? ORDER BY id",
+                Long.class, codePrefix + "0%");
+    }
+
+    private List<ProjectRow> copyProjects(CopyManager copy, Random random, List<String> pmEmails,
+                                          LocalDate from, LocalDate today) throws SQLException, IOException {
+        CsvChunks csv = new CsvChunks(copy, "projects (project_code, project_name, pm_email, start_date, end_date, " +
+                "project_type, status, description, search_text, created_at)");
+        Project.ProjectType[] types = Project.ProjectType.values();
+        int windowDays = (int) (today.toEpochDay() - from.toEpochDay());
+        List<LocalDate[]> dates = new ArrayList<>();
+        List<Project.Status> statuses = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= projectCount; i++) {
+            String code = String.format("%sPRJ%05d", CODE_PREFIX, i);
+            String name = pick(random, PROJECT_SUBJECTS) + " " + pick(random, PROJECT_OWNERS) + " " + i;
+            // Projects start across the window and a little beyond; about one in six is open-ended
+            LocalDate start = from.plusDays(random.nextInt(windowDays + 60));
+            LocalDate end = random.nextInt(6) == 0 ? null : start.plusMonths(3 + random.nextInt(22));
+            Project.Status status;
+            if (end != null && end.isBefore(today)) {
+                status = Project.Status.Closed;
+            } else if (start.isAfter(today)) {
+                status = random.nextBoolean() ? Project.Status.Presale : Project.Status.Open;
+            } else {
+                status = random.nextInt(100) < 85 ? Project.Status.InProgress : Project.Status.Hold;
+            }
+            String description = "Dự án " + name + " (dữ liệu tổng hợp)";
+            csv.row(code, name, pick(random, pmEmails), start, end, pick(random, types).name(), status.name(),
+                    description, TextNormalizer.searchText(name, code, description), start.atStartOfDay());
+            dates.add(new LocalDate[]{start, end});
+            statuses.add(status);
+            names.add(name);
+        }
+        csv.finish();
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM projects WHERE project_code LIKE ? ORDER BY id",
+                Long.class, CODE_PREFIX + "PRJ%");
+        List<ProjectRow> projects = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            projects.add(new ProjectRow(ids.get(i), dates.get(i)[0], dates.get(i)[1], statuses.get(i), names.get(i)));
+        }
+        return projects;
+    }
+
+    private List<Member> copyMembers(CopyManager copy, Random random, List<Long> userIds, List<ProjectRow> projects,
+                                     LocalDate today) throws SQLException, IOException {
+        CsvChunks csv = new CsvChunks(copy, "project_members (project_id, user_id, workload_percentage, " +
+                "joined_date, left_date, is_active, created_at)");
+        List<ProjectRow> staffed = projects.stream().filter(p -> !p.start().isAfter(today)).toList();
+        List<Member> members = new ArrayList<>();
+        if (staffed.isEmpty()) {
+            csv.finish();
+            return members;
+        }
+        for (Long userId : userIds) {
+            // One to three projects; every share is at least 10% and together they stay within 50-100%
+            int projectsForUser = Math.min(1 + random.nextInt(3), staffed.size());
+            List<ProjectRow> chosen = new ArrayList<>();
+            while (chosen.size() < projectsForUser) {
+                ProjectRow candidate = pick(random, staffed);
+                if (!chosen.contains(candidate)) {
+                    chosen.add(candidate);
+                }
+            }
+            int[] workloads = new int[chosen.size()];
+            Arrays.fill(workloads, 10);
+            for (int step = (50 + 10 * random.nextInt(6)) / 10 - chosen.size(); step > 0; step--) {
+                workloads[random.nextInt(workloads.length)] += 10;
+            }
+            for (int i = 0; i < chosen.size(); i++) {
+                ProjectRow project = chosen.get(i);
+                int workload = workloads[i];
+                LocalDate joined = project.start().plusDays(random.nextInt(30));
+                LocalDate left = project.end() != null && project.end().isBefore(today) ? project.end() : null;
+                boolean active = left == null && project.status() != Project.Status.Closed;
+                csv.row(project.id(), userId, workload, joined, left, active, joined.atStartOfDay());
+                members.add(new Member(userId, project.id(), joined, left != null ? left : project.end(), workload));
+            }
+        }
+        csv.finish();
+        return members;
+    }
+
+    private long copyWorkLogs(CopyManager copy, Random random, List<Member> members, LocalDate from, LocalDate today)
+            throws SQLException, IOException {
+        CsvChunks csv = new CsvChunks(copy, "work_logs (user_id, project_id, work_date, hours_worked, task_feature, " +
+                "work_description, created_at, updated_at)");
+        for (Member member : members) {
+            LocalDate first = member.joined().isBefore(from) ? from : member.joined();
+            LocalDate last = member.left() != null && member.left().isBefore(today) ? member.left() : today;
+            // Hours follow the workload, in half-hour steps
+            double baseHours = Math.max(0.5, Math.round(8.0 * member.workload() / 100 * 2) / 2.0);
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                DayOfWeek dayOfWeek = day.getDayOfWeek();
+                if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY || random.nextInt(100) < 5) {
+                    continue;
+                }
+                double hours = Math.max(0.5, baseHours + (random.nextInt(3) - 1) * 0.5);
+                String task = pick(random, TASK_FEATURES);
+                LocalDateTime loggedAt = day.atTime(17, random.nextInt(60));
+                csv.row(member.userId(), member.projectId(), day, hours, task, task + " - ngày " + day, loggedAt, loggedAt);
+            }
+        }
+        return csv.finish();
+    }
+
+    private long copyNotifications(CopyManager copy, Random random, List<Long> userIds, List<Member> members,
+                                   List<ProjectRow> projects, LocalDate today) throws SQLException, IOException {
+        CsvChunks csv = new CsvChunks(copy, "notifications (user_id, title, message, notification_type, " +
+                "related_project_id, is_read, created_at)");
+        Map<Long, String> projectNames = new HashMap<>();
+        projects.forEach(project -> projectNames.put(project.id(), project.name()));
+        Map<Long, List<Long>> projectsByUser = new HashMap<>();
+        members.forEach(member -> projectsByUser.computeIfAbsent(member.userId(), id -> new ArrayList<>()).add(member.projectId()));
+
+        for (Long userId : userIds) {
+            List<Long> userProjects = projectsByUser.get(userId);
+            if (userProjects == null) {
+                continue;
+            }
+            for (int i = 0; i < notificationsPerUser; i++) {
+                String[] template = pick(random, NOTIFICATIONS);
+                Long projectId = pick(random, userProjects);
+                int ageDays = random.nextInt(180);
+                // Older notifications are more likely to have been read
+                boolean read = random.nextInt(180) < ageDays;
+                csv.row(userId, template[1], String.format(template[2], projectNames.get(projectId)), template[0],
+                        projectId, read, today.minusDays(ageDays).atTime(8 + random.nextInt(10), random.nextInt(60)));
+            }
+        }
+        return csv.finish();
+    }
+
+    private static User.Role randomMemberRole(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 60) {
+            return User.Role.dev;
+        }
+        return roll < 75 ? User.Role.ba : User.Role.test;
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Buffers CSV rows and streams them to one table with COPY every {@code chunkRows} rows.
+     */
+    private class CsvChunks {
+
+        private final CopyManager copy;
+        private final String sql;
+        private final StringBuilder buffer = new StringBuilder();
+        private int buffered;
+        private long total;
+
+        CsvChunks(CopyManager copy, String target) {
+            this.copy = copy;
+            this.sql = "COPY " + target + " FROM STDIN WITH (FORMAT csv)";
+        }
+
+        void row(Object... values) throws SQLException, IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    // An unquoted empty field is NULL in CSV mode
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (++buffered >= chunkRows) {
+                flush();
+            }
+        }
+
+        long finish() throws SQLException, IOException {
+            flush();
+            return total;
+        }
+
+        private void flush() throws SQLException, IOException {
+            if (buffered == 0) {
+                return;
+            }
+            total += copy.copyIn(sql, new StringReader(buffer.toString()));
+            buffer.setLength(0);
+            buffered = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.viettel.vgov.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports the request execution mode at startup. {@code spring.threads.virtual.enabled}
+ * moves Tomcat request handling, the default {@code @Async} executor and the scheduler to
+ * virtual threads.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportExecutionMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Handling requests on virtual threads");
+        } else {
+            logger.info("Handling requests on platform threads (up to {})",
+                    environment.getProperty("server.tomcat.threads.max", "200"));
+        }
+    }
+}
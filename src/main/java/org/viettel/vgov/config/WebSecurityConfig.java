@@ -1,6 +1,8 @@
 package org.viettel.vgov.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,18 +13,22 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.viettel.vgov.monitoring.PrometheusScrapeAuthorizationManager;
+import org.viettel.vgov.security.BoundedPasswordEncoder;
 import org.viettel.vgov.security.CustomUserDetailsService;
 import org.viettel.vgov.security.JwtAuthenticationFilter;
+import org.viettel.vgov.security.RehashingBCryptPasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -32,10 +38,26 @@ public class WebSecurityConfig {
     
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MeterRegistry meterRegistry;
+    private final PrometheusScrapeAuthorizationManager prometheusScrapeAuthorizationManager;
+    
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${app.security.password.hashing-threads:0}")
+    private int hashingThreads;
+    
+    @Value("${app.security.password.hashing-queue-capacity:32}")
+    private int hashingQueueCapacity;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        RehashingBCryptPasswordEncoder bcrypt = new RehashingBCryptPasswordEncoder(bcryptStrength);
+        // New hashes are stored as {bcrypt}$2a$...; hashes from before the prefix still match as BCrypt
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, hashingQueueCapacity, meterRegistry);
     }
     
     @Bean
@@ -43,6 +65,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes the password on a successful login when its hash is outdated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -64,6 +88,10 @@ public class WebSecurityConfig {
                 // Actuator endpoints
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
+                .requestMatchers("/actuator/sqlstats/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+                // Scraped with the HTTP Basic credential under app.monitoring.prometheus, or read by an admin
+                .requestMatchers("/actuator/prometheus").access(prometheusScrapeAuthorizationManager)
                 // Swagger UI endpoints
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
@@ -0,0 +1,230 @@
+package org.viettel.vgov.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps work_logs range partitioned by work_date month. Hibernate creates a plain
+ * table, so on startup it is converted in place; afterwards a daily job creates the
+ * upcoming months and optionally moves old months to an archive tablespace.
+ * <p>
+ * A partitioned table's primary key must include the partition key, so the key is
+ * (id, work_date). Ids still come from a single sequence and stay unique.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // before DataInitializer inserts the sample work logs
+@RequiredArgsConstructor
+public class WorkLogPartitionManager implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkLogPartitionManager.class);
+
+    private static final String TABLE = "work_logs";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'uuuu'm'MM");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.worklog.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.worklog.partitions.months-back:12}")
+    private int monthsBack;
+
+    @Value("${app.worklog.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.worklog.partitions.archive-after-months:0}")
+    private int archiveAfterMonths;
+
+    @Value("${app.worklog.partitions.archive-tablespace:}")
+    private String archiveTablespace;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        }
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.worklog.partitions.cron:0 15 0 * * *}")
+    public void maintainPartitions() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        createPartitions(current, current.plusMonths(monthsAhead));
+        if (archiveAfterMonths > 0 && StringUtils.hasText(archiveTablespace)) {
+            archivePartitions(current.minusMonths(archiveAfterMonths));
+        }
+    }
+
+    /**
+     * Creates any missing monthly partitions from {@code from} to {@code to}, e.g. before
+     * bulk-loading history that would otherwise pile up in the default partition.
+     */
+    public void createPartitions(YearMonth from, YearMonth to) {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth target = month;
+            transactionTemplate.executeWithoutResult(status -> createPartition(target));
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private void convertToPartitioned() {
+        Integer referencing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE contype = 'f' AND confrelid = to_regclass(?)",
+                Integer.class, TABLE);
+        if (referencing != null && referencing > 0) {
+            // Foreign keys to work_logs(id) cannot survive the primary key gaining work_date
+            logger.warn("Not partitioning {}: other tables reference it", TABLE);
+            return;
+        }
+
+        // Definitions are captured while they still name work_logs, so they can be replayed verbatim
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT format('ALTER TABLE %I ADD CONSTRAINT %I %s', ?, conname, pg_get_constraintdef(oid)) " +
+                "FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                String.class, TABLE, TABLE);
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT pg_get_indexdef(i.indexrelid) FROM pg_index i " +
+                "WHERE i.indrelid = to_regclass(?) " +
+                "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)",
+                String.class, TABLE);
+        List<String> triggers = jdbcTemplate.queryForList(
+                "SELECT pg_get_triggerdef(oid) FROM pg_trigger WHERE tgrelid = to_regclass(?) AND NOT tgisinternal",
+                String.class, TABLE);
+
+        logger.info("Converting {} to monthly range partitions", TABLE);
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_unpartitioned INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (work_date)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        // Rows older than the retained window land in the default partition
+        for (YearMonth month = YearMonth.now().minusMonths(monthsBack); !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_unpartitioned");
+        // Dropping the old table also frees its constraint names and identity sequence name
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_unpartitioned");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, work_date)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT uk_" + TABLE + "_user_project_date " +
+                "UNIQUE (user_id, project_id, work_date)");
+        // Identity columns are not supported on partitioned tables before PostgreSQL 17
+        jdbcTemplate.execute("CREATE SEQUENCE " + TABLE + "_id_seq OWNED BY " + TABLE + ".id");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + TABLE + "_id_seq')");
+        jdbcTemplate.execute("SELECT setval('" + TABLE + "_id_seq', coalesce(max(id), 0) + 1, false) FROM " + TABLE);
+
+        foreignKeys.forEach(jdbcTemplate::execute);
+        indexes.forEach(jdbcTemplate::execute);
+        triggers.forEach(jdbcTemplate::execute);
+        // Per-partition (user, date) and (project, date) indexes serve the date-bounded report queries
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_user_date ON " + TABLE + " (user_id, work_date)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_project_date ON " + TABLE + " (project_id, work_date)");
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+            return;
+        }
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        Integer stray = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + DEFAULT_PARTITION + " WHERE work_date >= ? AND work_date < ?",
+                Integer.class, from, to);
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + TABLE + bounds);
+        } else {
+            // Attaching would fail while the default partition holds rows for this month, so move them first
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                    " WHERE work_date >= ? AND work_date < ? RETURNING *) " +
+                    "INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + bounds);
+            logger.info("Moved {} work logs from {} to {}", stray, DEFAULT_PARTITION, partition);
+        }
+        logger.info("Created work log partition {}", partition);
+    }
+
+    private void archivePartitions(YearMonth before) {
+        if (!IDENTIFIER.matcher(archiveTablespace).matches()) {
+            logger.warn("Ignoring invalid archive tablespace name: {}", archiveTablespace);
+            return;
+        }
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname, coalesce(t.spcname, '') AS spcname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "LEFT JOIN pg_tablespace t ON t.oid = c.reltablespace " +
+                "WHERE i.inhparent = to_regclass(?)", TABLE);
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("relname");
+            YearMonth month = partitionMonth(name);
+            if (month == null || !month.isBefore(before) || archiveTablespace.equals(partition.get("spcname"))) {
+                continue;
+            }
+            // SET TABLESPACE rewrites the partition under an exclusive lock; old months are rarely touched
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET TABLESPACE " + archiveTablespace);
+                jdbcTemplate.queryForList(
+                        "SELECT indexrelid::regclass::text FROM pg_index WHERE indrelid = to_regclass(?)",
+                        String.class, name)
+                        .forEach(index -> jdbcTemplate.execute(
+                                "ALTER INDEX " + index + " SET TABLESPACE " + archiveTablespace));
+            });
+            logger.info("Moved work log partition {} to tablespace {}", name, archiveTablespace);
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return TABLE + month.format(PARTITION_SUFFIX);
+    }
+
+    private YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(TABLE + "_y")) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(TABLE.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
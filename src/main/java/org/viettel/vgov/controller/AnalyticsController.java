@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.viettel.vgov.dto.response.AnalyticsResponseDto;
+import org.viettel.vgov.security.access.CanAccessProject;
 import org.viettel.vgov.service.AnalyticsService;
 
 import java.time.LocalDate;
@@ -48,7 +49,7 @@ public class AnalyticsController {
     
     @Operation(summary = "Get project timeline", description = "Retrieve project timeline and milestones")
     @GetMapping("/project/{id}/timeline")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('PM') or @projectSecurityService.canAccessProject(#id, authentication.name)")
+    @CanAccessProject
     public ResponseEntity<AnalyticsResponseDto> getProjectTimeline(@PathVariable Long id) {
         AnalyticsResponseDto timeline = analyticsService.getProjectTimeline(id);
         return ResponseEntity.ok(timeline);
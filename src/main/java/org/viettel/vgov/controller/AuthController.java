@@ -5,9 +5,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.viettel.vgov.dto.request.LoginRequestDto;
+import org.viettel.vgov.dto.request.RefreshTokenRequestDto;
 import org.viettel.vgov.dto.response.JwtResponseDto;
 import org.viettel.vgov.dto.response.UserResponseDto;
 import org.viettel.vgov.service.AuthService;
@@ -30,20 +32,22 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "User logout", description = "Logout current user (invalidate session)")
+    @Operation(summary = "User logout", description = "Revoke the access token and the refresh token of this session, which must belong to the same user; without a refresh token every session of the user is ended")
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logoutUser() {
-        authService.logout();
+    public ResponseEntity<Map<String, String>> logoutUser(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDto request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok(Map.of("message", "User logged out successfully"));
     }
     
-    @Operation(summary = "Refresh JWT token", description = "Generate new JWT token for user")
+    @Operation(summary = "Refresh JWT token", description = "Exchange a refresh token for a new access token and a new refresh token; the old refresh token stops working")
     @PostMapping("/refresh")
-    public ResponseEntity<Map<String, String>> refreshToken(@RequestBody Map<String, String> request) {
-        String email = request.get("email");
-        String newToken = authService.refreshToken(email);
-        return ResponseEntity.ok(Map.of("token", newToken, "type", "Bearer"));
+    public ResponseEntity<JwtResponseDto> refreshToken(@Valid @RequestBody RefreshTokenRequestDto request) {
+        JwtResponseDto response = authService.refreshToken(request.getRefreshToken());
+        return ResponseEntity.ok(response);
     }
     
     @Operation(summary = "Get current user info", description = "Retrieve information about the currently authenticated user")
@@ -3,18 +3,26 @@ package org.viettel.vgov.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.viettel.vgov.dto.response.FileUploadResponseDto;
 import org.viettel.vgov.service.FileService;
+import org.viettel.vgov.storage.LocalFileSender;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/files")
@@ -25,6 +33,7 @@ import java.util.Map;
 public class FileController {
     
     private final FileService fileService;
+    private final LocalFileSender localFileSender;
     
     @Operation(summary = "Upload file", description = "Upload file to MinIO storage")
     @PostMapping("/upload")
@@ -34,16 +43,45 @@ public class FileController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "Download file", description = "Download file by filename")
+    /**
+     * Writes the response directly rather than returning a body: the local-disk path needs the
+     * servlet response for validators, ranges and sendfile, so the other paths write it too.
+     */
+    @Operation(summary = "Download file", description = "Download file by filename, optionally as a resized image variant")
     @GetMapping("/{filename}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Resource> getFile(@PathVariable String filename) {
-        Resource resource = fileService.getFile(filename);
+    public void getFile(@PathVariable String filename,
+                        @RequestParam(required = false) Integer variant,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        filename = fileService.resolveVariant(filename, variant);
+        
+        // Let the client download straight from storage when the backend supports it
+        Optional<String> directUrl = fileService.getDirectUrl(filename);
+        if (directUrl.isPresent()) {
+            response.sendRedirect(directUrl.get());
+            return;
+        }
+        
+        // Files on local disk support validators and ranges
+        Optional<Path> localPath = fileService.getLocalPath(filename);
+        if (localPath.isPresent()) {
+            localFileSender.send(localPath.get(), filename, fileService.getContentHash(filename).orElse(null),
+                    request, response);
+            return;
+        }
         
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(resource);
+        Resource resource = fileService.getFile(filename);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        // Storage resources know their length without reading the stream
+        long contentLength = resource.contentLength();
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+        try (InputStream content = resource.getInputStream()) {
+            StreamUtils.copy(content, response.getOutputStream());
+        }
     }
     
     @Operation(summary = "Delete file", description = "Delete file from MinIO storage")
@@ -62,8 +100,9 @@ public class FileController {
     @Operation(summary = "Get file URL", description = "Get public URL for file access")
     @GetMapping("/url/{filename}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Map<String, String>> getFileUrl(@PathVariable String filename) {
-        String url = fileService.getFileUrl(filename);
+    public ResponseEntity<Map<String, String>> getFileUrl(@PathVariable String filename,
+                                                         @RequestParam(required = false) Integer variant) {
+        String url = fileService.getFileUrl(fileService.resolveVariant(filename, variant));
         return ResponseEntity.ok(Map.of("url", url));
     }
 }
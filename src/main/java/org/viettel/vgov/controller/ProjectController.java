@@ -14,10 +14,14 @@ import org.springframework.web.bind.annotation.*;
 import org.viettel.vgov.dto.request.ProjectRequestDto;
 import org.viettel.vgov.dto.response.PagedResponse;
 import org.viettel.vgov.dto.response.ProjectResponseDto;
+import org.viettel.vgov.dto.response.ProjectSuggestionDto;
 import org.viettel.vgov.dto.response.StandardResponse;
 import org.viettel.vgov.model.Project;
+import org.viettel.vgov.security.access.CanAccessProject;
 import org.viettel.vgov.service.ProjectService;
+import org.viettel.vgov.service.TypeaheadService;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,6 +33,7 @@ import java.util.Map;
 public class ProjectController {
     
     private final ProjectService projectService;
+    private final TypeaheadService typeaheadService;
     
     @Operation(summary = "Get all projects", description = "List projects based on role permissions with filters - Admin: all projects, PM: managed projects, Others: assigned projects")
     @GetMapping
@@ -42,9 +47,19 @@ public class ProjectController {
         return ResponseEntity.ok(StandardResponse.success(projects));
     }
     
+    @Operation(summary = "Autocomplete projects", description = "Projects whose code or name words start with the query - Admin: all projects, PM: managed projects")
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PM')")
+    public ResponseEntity<StandardResponse<List<ProjectSuggestionDto>>> autocompleteProjects(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        List<ProjectSuggestionDto> projects = typeaheadService.suggestProjects(q, Math.min(limit, 50));
+        return ResponseEntity.ok(StandardResponse.success(projects));
+    }
+    
     @Operation(summary = "Get project by ID", description = "Get project details by ID - role-based access control")
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('PM') or @projectSecurityService.canAccessProject(#id, authentication.name)")
+    @CanAccessProject
     public ResponseEntity<StandardResponse<ProjectResponseDto>> getProjectById(@PathVariable Long id) {
         ProjectResponseDto project = projectService.getProjectById(id);
         return ResponseEntity.ok(StandardResponse.success(project));
@@ -15,9 +15,12 @@ import org.viettel.vgov.dto.request.UserRequestDto;
 import org.viettel.vgov.dto.response.PagedResponse;
 import org.viettel.vgov.dto.response.StandardResponse;
 import org.viettel.vgov.dto.response.UserResponseDto;
+import org.viettel.vgov.dto.response.UserSuggestionDto;
 import org.viettel.vgov.model.User;
+import org.viettel.vgov.service.TypeaheadService;
 import org.viettel.vgov.service.UserService;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,6 +32,7 @@ import java.util.Map;
 public class UserController {
     
     private final UserService userService;
+    private final TypeaheadService typeaheadService;
     
     @Operation(summary = "Get all users", description = "Retrieve paginated list of all users with filters (Admin and PM)")
     @GetMapping
@@ -42,6 +46,16 @@ public class UserController {
         return ResponseEntity.ok(StandardResponse.success(users));
     }
     
+    @Operation(summary = "Autocomplete users", description = "Active users whose name, email or employee code words start with the query (Admin and PM)")
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PM')")
+    public ResponseEntity<StandardResponse<List<UserSuggestionDto>>> autocompleteUsers(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        List<UserSuggestionDto> users = typeaheadService.suggestUsers(q, Math.min(limit, 50));
+        return ResponseEntity.ok(StandardResponse.success(users));
+    }
+    
     @Operation(summary = "Get available user roles", description = "Get list of available user roles (Admin only)")
     @GetMapping("/roles")
     @PreAuthorize("hasRole('ADMIN')")
@@ -10,7 +10,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.viettel.vgov.dto.request.WorkLogRequestDto;
+import org.viettel.vgov.dto.response.PagedResponse;
 import org.viettel.vgov.dto.response.WorkLogResponseDto;
+import org.viettel.vgov.dto.response.WorkLogSearchResultDto;
+import org.viettel.vgov.security.access.CanAccessUserWorkLogs;
 import org.viettel.vgov.service.WorkLogService;
 
 import java.util.List;
@@ -26,7 +29,7 @@ public class WorkLogController {
     
     private final WorkLogService workLogService;
     
-    @Operation(summary = "Get all work logs", description = "Get all work logs with role-based filtering and search")
+    @Operation(summary = "Get all work logs", description = "Get all work logs with role-based filtering and search; search results are paged")
     @GetMapping
     public ResponseEntity<List<WorkLogResponseDto>> getAllWorkLogs(
             @RequestParam(required = false) String search,
@@ -38,16 +41,28 @@ public class WorkLogController {
             @RequestParam(required = false) Double maxHours,
             @RequestParam(required = false) String taskFeature,
             @RequestParam(required = false, defaultValue = "workDate") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "100") int size) {
         List<WorkLogResponseDto> workLogs = workLogService.getAllWorkLogs(
             search, projectId, userId, workDateFrom, workDateTo,
-            minHours, maxHours, taskFeature, sortBy, sortDir);
+            minHours, maxHours, taskFeature, sortBy, sortDir, page, Math.min(size, 100));
         return ResponseEntity.ok(workLogs);
     }
     
+    @Operation(summary = "Search work logs", description = "Ranked, accent-insensitive search over task feature and description with highlighted matches")
+    @GetMapping("/search")
+    public ResponseEntity<PagedResponse<WorkLogSearchResultDto>> searchWorkLogs(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        PagedResponse<WorkLogSearchResultDto> results = workLogService.searchWorkLogs(q, page, Math.min(size, 100));
+        return ResponseEntity.ok(results);
+    }
+    
     @Operation(summary = "Get user work logs", description = "Get work logs for specific user (Admin/PM or own logs)")
     @GetMapping("/user/{userId}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('PM') or @workLogService.canAccessUserWorkLogs(#userId, authentication.name)")
+    @CanAccessUserWorkLogs
     public ResponseEntity<List<WorkLogResponseDto>> getWorkLogsByUserId(@PathVariable Long userId) {
         List<WorkLogResponseDto> workLogs = workLogService.getWorkLogsByUserId(userId);
         return ResponseEntity.ok(workLogs);
@@ -0,0 +1,63 @@
+package org.viettel.vgov.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.viettel.vgov.bulkhead.Bulkhead;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Gives requests running in a bulkhead with reserved connections their own pool, so slow
+ * reports wait on each other rather than on the connections CRUD requests need. Everything
+ * else, including work outside any request, uses the default DataSource. Pools are created
+ * on the first request of their group; {@link #close()} closes them, but not the default
+ * DataSource, which belongs to its bean.
+ */
+@Slf4j
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final DataSource defaultDataSource;
+    private final Set<String> pooledBulkheads;
+    private final Function<String, DataSource> poolFactory;
+    private final Map<String, DataSource> pools = new ConcurrentHashMap<>();
+
+    public BulkheadRoutingDataSource(DataSource defaultDataSource, Set<String> pooledBulkheads,
+                                     Function<String, DataSource> poolFactory) {
+        this.defaultDataSource = defaultDataSource;
+        this.pooledBulkheads = Set.copyOf(pooledBulkheads);
+        this.poolFactory = poolFactory;
+        setTargetDataSources(Map.of());
+        setDefaultTargetDataSource(defaultDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Bulkhead bulkhead = Bulkhead.current();
+        return bulkhead != null && pooledBulkheads.contains(bulkhead.getName()) ? bulkhead.getName() : null;
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        Object key = determineCurrentLookupKey();
+        if (key == null) {
+            return defaultDataSource;
+        }
+        return pools.computeIfAbsent((String) key, name -> {
+            log.info("Opening the connection pool of bulkhead {}", name);
+            return poolFactory.apply(name);
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
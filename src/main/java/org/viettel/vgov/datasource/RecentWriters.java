@@ -0,0 +1,35 @@
+package org.viettel.vgov.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who committed a write within the read-your-writes window. Shared by every
+ * {@link ReplicaRoutingDataSource} of the application, so a write through one keeps the
+ * user's reads through the others on the primary too.
+ */
+public class RecentWriters {
+
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public RecentWriters(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_TRACKED_WRITERS) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWrites.put(user, now);
+    }
+
+    public boolean wroteRecently(String user) {
+        Long writtenAt = lastWrites.get(user);
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+}
@@ -0,0 +1,154 @@
+package org.viettel.vgov.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the healthy replicas in turn and everything else to
+ * the primary. After a user's read-write transaction commits, that user's reads stay on
+ * the primary for a short window so they do not miss their own change on a lagging replica.
+ * <p>
+ * The lookup key is decided when the connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * connection is taken before the transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final RecentWriters recentWriters;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this(primary, replicas, new RecentWriters(readYourWritesWindow), meterRegistry);
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    RecentWriters recentWriters, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.recentWriters = recentWriters;
+        this.meterRegistry = meterRegistry;
+        // Reads stay on the primary until the first health check has vouched for a replica
+        this.healthyReplicas = List.of();
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (String name : this.replicas.keySet()) {
+            Gauge.builder("vgov.datasource.replica.healthy", this, ds -> ds.healthyReplicas.contains(name) ? 1 : 0)
+                    .tag("replica", name)
+                    .description("1 when the replica passes its health check")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return route(PRIMARY, "non-transactional");
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.recordWrite(user);
+                    }
+                });
+            }
+            return route(PRIMARY, "write");
+        }
+        if (user != null && recentWriters.wroteRecently(user)) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return route(PRIMARY, "no-healthy-replica");
+        }
+        return route(healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size())), "read");
+    }
+
+    /**
+     * Validates a connection from every replica pool and takes failing replicas out of rotation.
+     */
+    public void checkHealth() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            boolean up;
+            try (Connection connection = replica.getValue().getConnection()) {
+                up = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                up = false;
+            }
+            boolean wasUp = healthyReplicas.contains(replica.getKey());
+            if (up != wasUp) {
+                if (up) {
+                    log.info("Replica {} is in rotation", replica.getKey());
+                } else {
+                    log.warn("Replica {} failed its health check, routing its reads elsewhere", replica.getKey());
+                }
+            }
+            if (up) {
+                healthy.add(replica.getKey());
+            }
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private String route(String target, String reason) {
+        meterRegistry.counter("vgov.datasource.routing", "target", target, "reason", reason).increment();
+        return target;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
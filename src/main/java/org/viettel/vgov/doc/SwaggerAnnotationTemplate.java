@@ -36,7 +36,8 @@ package org.viettel.vgov.doc;
  * - Admin only: Use @PreAuthorize("hasRole('ADMIN')")
  * - All authenticated: Just @SecurityRequirement(name = "bearerAuth")
  * - Role-based access: @PreAuthorize("hasRole('ADMIN') or hasRole('PM') or ...")
- * - Custom security: @PreAuthorize("@customSecurityService.canAccess(...)")
+ * - Resource access: @CanAccessProject or @CanAccessUserWorkLogs (security.access), checked
+ *   from the token's principal without SpEL or a user lookup
  * 
  * CONSISTENCY GUIDELINES:
  * 
@@ -13,10 +13,13 @@ public class JwtResponseDto {
     
     private String type = "Bearer";
     
+    private String refreshToken;
+    
     private UserResponseDto user;
     
-    public JwtResponseDto(String accessToken, UserResponseDto user) {
+    public JwtResponseDto(String accessToken, String refreshToken, UserResponseDto user) {
         this.token = accessToken;
+        this.refreshToken = refreshToken;
         this.user = user;
     }
 }
@@ -0,0 +1,22 @@
+package org.viettel.vgov.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.viettel.vgov.model.Project;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSuggestionDto {
+    
+    private Long id;
+    
+    private String projectCode;
+    
+    private String projectName;
+    
+    private String pmEmail;
+    
+    private Project.Status status;
+}
@@ -0,0 +1,22 @@
+package org.viettel.vgov.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.viettel.vgov.model.User;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDto {
+    
+    private Long id;
+    
+    private String employeeCode;
+    
+    private String fullName;
+    
+    private String email;
+    
+    private User.Role role;
+}
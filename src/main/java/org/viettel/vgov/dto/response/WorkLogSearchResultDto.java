@@ -0,0 +1,20 @@
+package org.viettel.vgov.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkLogSearchResultDto {
+    
+    private WorkLogResponseDto workLog;
+    
+    private double rank;
+    
+    // HTML-escaped text with matches wrapped in <mark> tags
+    private String taskFeatureHighlight;
+    
+    private String workDescriptionHighlight;
+}
@@ -2,11 +2,14 @@ package org.viettel.vgov.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.viettel.vgov.dto.response.StandardResponse;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,6 +26,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Value("${app.bulkhead.retry-after:5s}")
+    private Duration retryAfter;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<StandardResponse<Object>> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
@@ -38,6 +45,14 @@ public class GlobalExceptionHandler {
                 .body(StandardResponse.error("INVALID_CREDENTIALS", "Invalid email or password"));
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<StandardResponse<Object>> handleInvalidTokenException(
+            InvalidTokenException ex, WebRequest request) {
+        logger.warn("Invalid token: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(StandardResponse.error("INVALID_TOKEN", ex.getMessage()));
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<StandardResponse<Object>> handleUsernameNotFoundException(
             UsernameNotFoundException ex, WebRequest request) {
@@ -92,6 +107,25 @@ public class GlobalExceptionHandler {
                 .body(StandardResponse.error("INVALID_ROLE_CHANGE", ex.getMessage()));
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<StandardResponse<Object>> handleServiceBusyException(
+            ServiceBusyException ex, WebRequest request) {
+        logger.warn("Service busy: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .body(StandardResponse.error("SERVICE_BUSY", ex.getMessage()));
+    }
+
+    // No connection within the pool's connection-timeout: the database is saturated or down
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<StandardResponse<Object>> handleCannotCreateTransactionException(
+            CannotCreateTransactionException ex, WebRequest request) {
+        logger.warn("Could not open a transaction: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .body(StandardResponse.error("SERVICE_BUSY", "The server is busy, please retry later"));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<StandardResponse<Object>> handleRuntimeException(
             RuntimeException ex, WebRequest request) {
@@ -0,0 +1,35 @@
+package org.viettel.vgov.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+    
+    // Hex-encoded SHA-256 of the content
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+    
+    @Column(name = "size", nullable = false)
+    private Long size;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
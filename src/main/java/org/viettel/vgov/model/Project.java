@@ -4,8 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.viettel.vgov.util.TextNormalizer;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,6 +16,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +61,10 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Accent- and case-folded name, code and description, backed by a trigram index
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -65,6 +74,7 @@ public class Project {
     private User updatedBy;
     
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-project-members")
     private Set<ProjectMember> projectMembers;
     
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -73,6 +83,12 @@ public class Project {
     @OneToMany(mappedBy = "relatedProject", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Notification> notifications;
     
+    @PrePersist
+    @PreUpdate
+    void updateSearchText() {
+        searchText = TextNormalizer.searchText(projectName, projectCode, description);
+    }
+    
     public enum ProjectType {
         TM("T&M"), 
         Package("Package"), 
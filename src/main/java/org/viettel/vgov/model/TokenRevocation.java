@@ -0,0 +1,32 @@
+package org.viettel.vgov.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "token_revocations",
+       indexes = {
+           @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    
+    // jti claim of the revoked access token
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+    
+    // The token's own expiry; past it the row is no longer needed
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Database time, so nodes polling for new rows agree on the order
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,29 @@
+package org.viettel.vgov.monitoring;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.viettel.vgov.security.UserPrincipal;
+
+/**
+ * The {@code role} tag value for the caller: the user's role, or {@code none} when
+ * unauthenticated. Roles are a fixed set, so the tag stays low-cardinality.
+ */
+public final class MetricsRoles {
+
+    public static final String TAG = "role";
+    public static final String NONE = "none";
+
+    static final String REQUEST_ATTRIBUTE = MetricsRoles.class.getName() + ".ROLE";
+
+    private MetricsRoles() {
+    }
+
+    public static String currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal
+                && userPrincipal.getRole() != null) {
+            return userPrincipal.getRole().name();
+        }
+        return NONE;
+    }
+}
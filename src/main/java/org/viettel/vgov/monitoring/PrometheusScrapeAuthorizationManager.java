@@ -0,0 +1,69 @@
+package org.viettel.vgov.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Guards {@code /actuator/prometheus}: admins, or a scraper sending the configured HTTP Basic
+ * credential. Basic rather than a bearer token, which the JWT filter would try to parse. With
+ * no password configured only admins get through.
+ */
+@Component
+public class PrometheusScrapeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+    private final byte[] expectedCredential;
+
+    public PrometheusScrapeAuthorizationManager(
+            @Value("${app.monitoring.prometheus.scrape-username:prometheus}") String username,
+            @Value("${app.monitoring.prometheus.scrape-password:}") String password) {
+        this.expectedCredential = StringUtils.hasText(password)
+                ? (username + ":" + password).getBytes(StandardCharsets.UTF_8)
+                : null;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (hasScrapeCredential(context.getRequest())) {
+            return new AuthorizationDecision(true);
+        }
+        return admin.authorize(authentication, context);
+    }
+
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        AuthorizationResult result = authorize(authentication, context);
+        return result instanceof AuthorizationDecision decision ? decision : new AuthorizationDecision(result.isGranted());
+    }
+
+    private boolean hasScrapeCredential(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (expectedCredential == null || header == null || !header.startsWith(BASIC_PREFIX)) {
+            return false;
+        }
+        byte[] credential;
+        try {
+            credential = Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(credential, expectedCredential);
+    }
+}
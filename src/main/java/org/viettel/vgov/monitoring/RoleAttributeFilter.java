@@ -0,0 +1,28 @@
+package org.viettel.vgov.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Remembers the caller's role on the request. The security context is cleared before the
+ * HTTP server observation stops, so {@link RoleTaggingObservationConvention} reads it from here.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RoleAttributeFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        request.setAttribute(MetricsRoles.REQUEST_ATTRIBUTE, MetricsRoles.currentRole());
+        filterChain.doFilter(request, response);
+    }
+}
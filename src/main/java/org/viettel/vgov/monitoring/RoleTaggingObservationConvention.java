@@ -0,0 +1,19 @@
+package org.viettel.vgov.monitoring;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds the caller's role to {@code http.server.requests}, so latency can be broken down
+ * by the role-specific query paths behind each endpoint.
+ */
+public class RoleTaggingObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object role = context.getCarrier().getAttribute(MetricsRoles.REQUEST_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and(MetricsRoles.TAG, role != null ? role.toString() : MetricsRoles.NONE);
+    }
+}
@@ -0,0 +1,35 @@
+package org.viettel.vgov.monitoring;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+
+/**
+ * Wraps result sets to add each row read through {@link ResultSet#next()} to the current
+ * thread's {@link SqlStats}. Every call on a wrapped result set goes through a proxy, so
+ * this is only installed when {@code app.monitoring.sql.count-read-rows} is set.
+ */
+public class RowCountingResultSetFactory implements ResultSetProxyLogicFactory {
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        return new SimpleResultSetProxyLogic(resultSet, connectionInfo, proxyConfig) {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result = super.invoke(proxy, method, args);
+                if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                    SqlStats stats = SqlStatsContext.current();
+                    if (stats != null) {
+                        stats.addRows(1);
+                    }
+                }
+                return result;
+            }
+        };
+    }
+}
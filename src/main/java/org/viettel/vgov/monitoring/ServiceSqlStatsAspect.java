@@ -0,0 +1,37 @@
+package org.viettel.vgov.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects SQL statistics per public service method. Ordered ahead of the transaction
+ * advice so statements flushed at commit are attributed to the method, and just inside
+ * {@link ServiceMetricsAspect}, whose timings therefore include this bookkeeping.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.monitoring.sql.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServiceSqlStatsAspect {
+
+    private final SqlStatsCollector collector;
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object collect(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStats parent = SqlStatsContext.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStats stats = SqlStatsContext.end(parent);
+            collector.recordServiceCall(joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), stats, parent == null);
+        }
+    }
+}
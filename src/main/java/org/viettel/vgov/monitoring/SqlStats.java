@@ -0,0 +1,81 @@
+package org.viettel.vgov.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements, rows and JDBC time accumulated on one thread, plus how often each
+ * statement shape ran. Thread-confined; see {@link SqlStatsContext}.
+ */
+public class SqlStats {
+
+    private static final int MAX_SHAPES = 1_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    public void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (shapes.size() < MAX_SHAPES || shapes.containsKey(sql)) {
+            shapes.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void addRows(long count) {
+        rows += count;
+    }
+
+    void merge(SqlStats other) {
+        statements += other.statements;
+        rows += other.rows;
+        nanos += other.nanos;
+        other.shapes.forEach((sql, count) -> {
+            if (shapes.size() < MAX_SHAPES || shapes.containsKey(sql)) {
+                shapes.merge(sql, count, Integer::sum);
+            }
+        });
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Statement shapes that ran at least {@code threshold} times, most repeated first.
+     * Literals and IN lists are folded so the same query with different ids counts as one shape.
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> normalized = new HashMap<>();
+        shapes.forEach((sql, count) -> normalized.merge(normalize(sql), count, Integer::sum));
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        normalized.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
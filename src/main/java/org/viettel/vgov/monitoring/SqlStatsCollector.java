@@ -0,0 +1,159 @@
+package org.viettel.vgov.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes per-request and per-service-method {@link SqlStats} as Micrometer meters and
+ * keeps running totals for the {@code sqlstats} actuator endpoint. Statement shapes repeated
+ * at least {@code app.monitoring.sql.repeated-statement-threshold} times in one scope are
+ * reported as likely N+1 queries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.monitoring.sql.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlStatsCollector {
+
+    private static final int MAX_TRACKED_SHAPES = 20;
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+    private final Map<String, Totals> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Totals> serviceMethods = new ConcurrentHashMap<>();
+
+    public SqlStatsCollector(MeterRegistry meterRegistry,
+                             @Value("${app.monitoring.sql.repeated-statement-threshold:5}") int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    public void recordRequest(String method, String uri, SqlStats stats) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        publish("vgov.http.server.requests", tags, stats);
+        Map<String, Integer> repeated = stats.repeatedShapes(repeatedThreshold);
+        reportRepeated(method + " " + uri, tags, repeated, true);
+        endpoints.computeIfAbsent(method + " " + uri, key -> new Totals()).add(stats, repeated);
+    }
+
+    /**
+     * @param topLevel whether the call ran outside any request, in which case it reports its
+     *                 own repeated statements; otherwise the enclosing request does
+     */
+    public void recordServiceCall(String className, String methodName, SqlStats stats, boolean topLevel) {
+        Tags tags = Tags.of("class", className, "method", methodName);
+        publish("vgov.service", tags, stats);
+        Map<String, Integer> repeated = stats.repeatedShapes(repeatedThreshold);
+        reportRepeated(className + "." + methodName, tags, repeated, topLevel);
+        serviceMethods.computeIfAbsent(className + "." + methodName, key -> new Totals()).add(stats, repeated);
+    }
+
+    public List<Summary> worstEndpoints(int limit) {
+        return worst(endpoints, limit);
+    }
+
+    public List<Summary> worstServiceMethods(int limit) {
+        return worst(serviceMethods, limit);
+    }
+
+    public void reset() {
+        endpoints.clear();
+        serviceMethods.clear();
+    }
+
+    private void publish(String prefix, Tags tags, SqlStats stats) {
+        DistributionSummary.builder(prefix + ".queries")
+                .description("SQL statements executed")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder(prefix + ".rows")
+                .description("Rows written by SQL statements, plus rows read when count-read-rows is on")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder(prefix + ".sql")
+                .description("Time spent executing SQL statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void reportRepeated(String scope, Tags tags, Map<String, Integer> repeated, boolean log) {
+        if (repeated.isEmpty()) {
+            return;
+        }
+        meterRegistry.counter("vgov.sql.repeated.statements", tags).increment(repeated.size());
+        if (log) {
+            repeated.forEach((sql, count) -> SqlStatsCollector.log.warn("Possible N+1 in {}: {} executions of {}",
+                    scope, count, abbreviate(sql)));
+        }
+    }
+
+    private List<Summary> worst(Map<String, Totals> totals, int limit) {
+        return totals.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingDouble(Summary::avgStatements).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    public record Summary(String name, long calls, double avgStatements, long maxStatements, double avgRows,
+                          double avgSqlMillis, Map<String, Integer> repeatedStatements) {
+    }
+
+    private static class Totals {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        // Highest repetition seen per shape
+        private final Map<String, Integer> repeated = new ConcurrentHashMap<>();
+
+        void add(SqlStats stats, Map<String, Integer> repeatedShapes) {
+            calls.increment();
+            statements.add(stats.getStatements());
+            rows.add(stats.getRows());
+            nanos.add(stats.getNanos());
+            maxStatements.accumulate(stats.getStatements());
+            repeatedShapes.forEach((sql, count) -> {
+                if (repeated.size() < MAX_TRACKED_SHAPES || repeated.containsKey(sql)) {
+                    repeated.merge(sql, count, Math::max);
+                }
+            });
+        }
+
+        Summary summary(String name) {
+            long count = Math.max(calls.sum(), 1);
+            Map<String, Integer> shapes = new LinkedHashMap<>();
+            repeated.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> shapes.put(entry.getKey(), entry.getValue()));
+            return new Summary(name, calls.sum(), (double) statements.sum() / count, maxStatements.get(),
+                    (double) rows.sum() / count, nanos.sum() / 1_000_000.0 / count, shapes);
+        }
+    }
+}
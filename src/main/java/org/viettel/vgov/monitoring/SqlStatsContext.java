@@ -0,0 +1,43 @@
+package org.viettel.vgov.monitoring;
+
+/**
+ * Holds the {@link SqlStats} being collected on the current thread. Scopes nest: a scope
+ * opened inside another (a service call within a request) is folded into its parent when
+ * it ends. Statements run while no scope is open are not counted.
+ */
+public final class SqlStatsContext {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatsContext() {
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a new scope and returns the enclosing one, which must be handed back to {@link #end}.
+     */
+    public static SqlStats begin() {
+        SqlStats parent = CURRENT.get();
+        CURRENT.set(new SqlStats());
+        return parent;
+    }
+
+    /**
+     * Ends the current scope, restores {@code parent} and returns what the scope collected.
+     */
+    public static SqlStats end(SqlStats parent) {
+        SqlStats finished = CURRENT.get();
+        if (parent != null) {
+            if (finished != null) {
+                parent.merge(finished);
+            }
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+        return finished != null ? finished : new SqlStats();
+    }
+}
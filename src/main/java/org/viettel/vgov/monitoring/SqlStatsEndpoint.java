@@ -0,0 +1,41 @@
+package org.viettel.vgov.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlstats}: endpoints and service methods ranked by average SQL
+ * statements per call, with the statement shapes they repeat. DELETE clears the totals.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@ConditionalOnProperty(name = "app.monitoring.sql.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SqlStatsCollector collector;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoints", collector.worstEndpoints(top));
+        result.put("serviceMethods", collector.worstServiceMethods(top));
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+    }
+}
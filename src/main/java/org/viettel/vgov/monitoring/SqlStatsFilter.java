@@ -0,0 +1,46 @@
+package org.viettel.vgov.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Collects the SQL statements, rows and JDBC time of each request, tagged by method and
+ * URI pattern. Runs ahead of the security filters so the JWT user lookup is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.monitoring.sql.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final SqlStatsCollector collector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStats parent = SqlStatsContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats stats = SqlStatsContext.end(parent);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            collector.recordRequest(request.getMethod(), uri, stats);
+            log.debug("{} {} executed {} SQL statements ({} rows, {} ms)", request.getMethod(), uri,
+                    stats.getStatements(), stats.getRows(), stats.getNanos() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.viettel.vgov.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener feeding the current thread's {@link SqlStats}: one statement
+ * per execution (a JDBC batch counts once) and rows reported by updates. Rows read are
+ * counted by {@link RowCountingResultSetFactory} when it is installed.
+ */
+public class SqlStatsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatsListener.class.getName() + ".START";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatsContext.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlStatsContext.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats == null || start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        stats.recordStatement(queryInfoList.get(0).getQuery(), System.nanoTime() - start);
+
+        Object result = execInfo.getResult();
+        if (result instanceof Number updated) {
+            stats.addRows(Math.max(updated.longValue(), 0));
+        } else if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                stats.addRows(Math.max(updated, 0));
+            }
+        }
+    }
+}
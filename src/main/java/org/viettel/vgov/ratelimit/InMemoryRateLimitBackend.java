@@ -0,0 +1,56 @@
+package org.viettel.vgov.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free buckets held on this node: each is an {@link AtomicLong} updated by
+ * compare-and-set, so concurrent requests for one key never block each other.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitBackend(MeterRegistry meterRegistry) {
+        Gauge.builder("vgov.ratelimit.buckets", buckets, Map::size)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Probe tryConsume(String key, Limit limit) {
+        long interval = limit.emissionInterval().toNanos();
+        long burst = interval * limit.capacity();
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long used = next - now;
+            if (used > burst) {
+                return Probe.rejected(Duration.ofNanos(used - burst));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return Probe.allowed((burst - used) / interval);
+            }
+        }
+    }
+
+    @Override
+    public int evictIdle(Duration idleTimeout) {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        int before = buckets.size();
+        // A request racing the removal updates a dropped bucket, which at most grants one extra token
+        buckets.values().removeIf(bucket -> bucket.get() - cutoff < 0);
+        return before - buckets.size();
+    }
+}
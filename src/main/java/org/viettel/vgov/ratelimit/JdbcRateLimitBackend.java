@@ -0,0 +1,66 @@
+package org.viettel.vgov.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Buckets in a PostgreSQL table, so every node sharing the database enforces one limit.
+ * Each decision is a single upsert timed by the database clock, which keeps the nodes'
+ * clocks out of it. The table is unlogged: losing it in a crash only refills the buckets.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+public class JdbcRateLimitBackend implements RateLimitBackend, InitializingBean {
+
+    // Statement start time in microseconds; stable within the statement
+    private static final String NOW = "(extract(epoch FROM now()) * 1000000)::bigint";
+
+    private static final String CONSUME =
+            "INSERT INTO rate_limit_buckets AS b (bucket_key, tat) VALUES (?, " + NOW + " + ?) " +
+            "ON CONFLICT (bucket_key) DO UPDATE SET tat = greatest(b.tat, " + NOW + ") + ? " +
+            "WHERE greatest(b.tat, " + NOW + ") + ? - " + NOW + " <= ? " +
+            "RETURNING tat - " + NOW;
+
+    private static final String USED =
+            "SELECT greatest(tat, " + NOW + ") + ? - " + NOW + " FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute("CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (" +
+                "bucket_key varchar(255) PRIMARY KEY, tat bigint NOT NULL)");
+        log.info("Rate limit buckets are shared through the rate_limit_buckets table");
+    }
+
+    @Override
+    public Probe tryConsume(String key, Limit limit) {
+        long interval = limit.emissionInterval().toNanos() / 1000;
+        long burst = interval * limit.capacity();
+        List<Long> used = jdbcTemplate.queryForList(CONSUME, Long.class, key, interval, interval, interval, burst);
+        if (!used.isEmpty()) {
+            return Probe.allowed((burst - used.get(0)) / interval);
+        }
+        List<Long> wanted = jdbcTemplate.queryForList(USED, Long.class, interval, key);
+        long retryAfter = wanted.isEmpty() ? interval : Math.max(wanted.get(0) - burst, 0);
+        return Probe.rejected(Duration.of(retryAfter, ChronoUnit.MICROS));
+    }
+
+    @Override
+    public int evictIdle(Duration idleTimeout) {
+        return jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE tat < " + NOW + " - ?",
+                idleTimeout.toNanos() / 1000);
+    }
+}
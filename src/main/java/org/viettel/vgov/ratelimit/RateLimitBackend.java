@@ -0,0 +1,42 @@
+package org.viettel.vgov.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Storage for the token buckets. Buckets are kept as a theoretical arrival time (GCRA), which
+ * behaves exactly like a token bucket but is a single number, so it can be updated with one
+ * compare-and-set in memory or one statement in a shared database.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one token from the bucket under {@code key}, creating a full bucket if needed.
+     */
+    Probe tryConsume(String key, Limit limit);
+
+    /**
+     * Drops buckets that have been full for longer than {@code idleTimeout}.
+     */
+    int evictIdle(Duration idleTimeout);
+
+    record Limit(int capacity, Duration refillPeriod) {
+
+        /**
+         * Time for one token to come back.
+         */
+        public Duration emissionInterval() {
+            return refillPeriod.dividedBy(capacity);
+        }
+    }
+
+    record Probe(boolean allowed, long remaining, Duration retryAfter) {
+
+        static Probe allowed(long remaining) {
+            return new Probe(true, remaining, Duration.ZERO);
+        }
+
+        static Probe rejected(Duration retryAfter) {
+            return new Probe(false, 0, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.viettel.vgov.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.viettel.vgov.dto.response.StandardResponse;
+import org.viettel.vgov.security.UserPrincipal;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Limits how often one caller may hit an endpoint group, answering 429 with Retry-After
+ * once the caller's bucket is empty. Runs after Spring Security so buckets can be keyed by
+ * user id, and before the bulkheads so throttled requests never take a slot.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RateLimitProperties properties;
+    private final RateLimitBackend backend;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitBackend backend, MeterRegistry meterRegistry,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Group> group =
+                match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Group settings = group.getValue();
+        RateLimitBackend.Limit limit = new RateLimitBackend.Limit(settings.getCapacity(), settings.getRefillPeriod());
+        RateLimitBackend.Probe probe;
+        try {
+            probe = backend.tryConsume(group.getKey() + ":" + caller(request, settings.getKey()), limit);
+        } catch (DataAccessException e) {
+            // A shared backend being down should not take the API down with it
+            log.warn("Rate limit backend unavailable, letting the request through: {}", e.getMessage());
+            count(group.getKey(), "error");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(settings.getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.remaining()));
+        if (probe.allowed()) {
+            count(group.getKey(), "allowed");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        count(group.getKey(), "rejected");
+        // Rounded up, so a client honouring Retry-After finds a token waiting
+        long retryAfterSeconds = Math.max(1, (probe.retryAfter().toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                StandardResponse.error("RATE_LIMITED", "Too many requests, please retry later"));
+    }
+
+    private Map.Entry<String, RateLimitProperties.Group> match(String path) {
+        for (Map.Entry<String, RateLimitProperties.Group> group : properties.getGroups().entrySet()) {
+            for (String pattern : group.getValue().getPaths()) {
+                if (pathMatcher.match(pattern.trim(), path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String caller(HttpServletRequest request, RateLimitProperties.Key key) {
+        if (key == RateLimitProperties.Key.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+                return "user:" + userPrincipal.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void count(String group, String outcome) {
+        meterRegistry.counter("vgov.ratelimit.requests", "group", group, "outcome", outcome).increment();
+    }
+}
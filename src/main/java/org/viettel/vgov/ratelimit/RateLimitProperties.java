@@ -0,0 +1,42 @@
+package org.viettel.vgov.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Backend backend = Backend.MEMORY;
+    // Buckets untouched this long are full again and can be dropped without changing any decision
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    // Checked in order; a request is limited by the first group with a matching path
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public enum Backend {
+        MEMORY, // per node
+        JDBC // shared by every node on the same database
+    }
+
+    public enum Key {
+        USER, // authenticated user id, falling back to the client IP
+        IP
+    }
+
+    @Data
+    public static class Group {
+
+        private List<String> paths = new ArrayList<>();
+        private Key key = Key.USER;
+        // Burst size; the bucket refills completely over refill-period
+        private int capacity = 60;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,36 @@
+package org.viettel.vgov.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.viettel.vgov.model.FileBlob;
+
+import java.util.Optional;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+    
+    // Adds a reference, creating the blob row if needed; true when the blob is new.
+    // Concurrent callers for the same hash serialize on the row lock.
+    @Query(value = "INSERT INTO file_blobs (hash, size, content_type, ref_count, created_at) " +
+            "VALUES (:hash, :size, :contentType, 1, now()) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = file_blobs.ref_count + 1 " +
+            "RETURNING (xmax = 0)", nativeQuery = true)
+    boolean addReference(@Param("hash") String hash, @Param("size") long size, @Param("contentType") String contentType);
+    
+    // Drops a reference and returns the remaining count, or empty when the blob row is missing
+    @Query(value = "UPDATE file_blobs SET ref_count = ref_count - 1 WHERE hash = :hash RETURNING ref_count",
+            nativeQuery = true)
+    Optional<Integer> releaseReference(@Param("hash") String hash);
+    
+    // Serializes creating a blob and removing its object until the transaction ends
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(hashtextextended(:hash, 0))) AS locked",
+            nativeQuery = true)
+    long lockHash(@Param("hash") String hash);
+    
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -35,6 +35,12 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     @Query("SELECT pm FROM ProjectMember pm JOIN FETCH pm.user JOIN FETCH pm.project WHERE pm.user.id = :userId AND pm.isActive = true AND pm.project.status != 'Closed'")
     List<ProjectMember> findActiveProjectMembersWithDetailsByUserId(@Param("userId") Long userId);
     
+    @Query("SELECT pm FROM ProjectMember pm JOIN FETCH pm.user JOIN FETCH pm.project LEFT JOIN FETCH pm.createdBy WHERE pm.project.id = :projectId")
+    List<ProjectMember> findByProjectIdWithDetails(@Param("projectId") Long projectId);
+    
+    @Query("SELECT pm FROM ProjectMember pm JOIN FETCH pm.user JOIN FETCH pm.project LEFT JOIN FETCH pm.createdBy WHERE pm.project.id = :projectId AND pm.isActive = :isActive")
+    List<ProjectMember> findByProjectIdAndIsActiveWithDetails(@Param("projectId") Long projectId, @Param("isActive") Boolean isActive);
+    
     @Query("SELECT COUNT(pm) FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.isActive = true")
     long countActiveProjectMembersByProjectId(@Param("projectId") Long projectId);
     
@@ -43,6 +49,9 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     
     boolean existsByProjectIdAndUserIdAndIsActiveTrue(Long projectId, Long userId);
     
+    @Query("SELECT pm.project.id FROM ProjectMember pm WHERE pm.user.id = :userId AND pm.isActive = true")
+    List<Long> findActiveProjectIdsByUserId(@Param("userId") Long userId);
+    
     // Additional methods for ProjectMemberService
     List<ProjectMember> findByProjectIdAndIsActive(Long projectId, Boolean isActive);
     
@@ -55,4 +64,17 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     
     @Query("SELECT COUNT(pm.project) FROM ProjectMember pm WHERE pm.user.id = :userId AND pm.isActive = true AND pm.project.status != 'Closed'")
     Integer countActiveProjectsByUserId(@Param("userId") Long userId);
+    
+    // Same sums as getTotalWorkloadByUserId/countActiveProjectsByUserId, for every user in one query
+    @Query("SELECT pm.user.id AS userId, SUM(pm.workloadPercentage) AS totalWorkload, COUNT(pm) AS projectCount " +
+           "FROM ProjectMember pm WHERE pm.isActive = true AND pm.project.status != 'Closed' GROUP BY pm.user.id")
+    List<UserWorkload> findActiveWorkloadsByUser();
+    
+    interface UserWorkload {
+        Long getUserId();
+        
+        BigDecimal getTotalWorkload();
+        
+        Long getProjectCount();
+    }
 }
@@ -1,15 +1,20 @@
 package org.viettel.vgov.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.viettel.vgov.dto.response.ProjectSuggestionDto;
 import org.viettel.vgov.model.Project;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -18,8 +23,10 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     boolean existsByProjectCode(String projectCode);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Project> findByPmEmail(String pmEmail);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Project> findByPmEmail(String pmEmail, Pageable pageable);
     
     List<Project> findByStatus(Project.Status status);
@@ -35,8 +42,9 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT DISTINCT p FROM Project p JOIN p.projectMembers pm WHERE pm.user.id = :userId AND pm.isActive = true AND p.status != 'Closed'")
     Page<Project> findProjectsByUserId(@Param("userId") Long userId, Pageable pageable);
     
-    @Query("SELECT p FROM Project p WHERE p.projectName LIKE %:name%")
-    List<Project> findByProjectNameContainingIgnoreCase(@Param("name") String name);
+    // Matches name, code and description; expects a term prepared with TextNormalizer.searchTerm
+    @Query("SELECT p FROM Project p WHERE p.searchText LIKE CONCAT('%', :term, '%') ESCAPE '\\'")
+    List<Project> searchByText(@Param("term") String term);
     
     @Query("SELECT p FROM Project p JOIN FETCH p.createdBy WHERE p.id = :id")
     Optional<Project> findByIdWithCreatedBy(@Param("id") Long id);
@@ -44,15 +52,20 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT COUNT(p) FROM Project p WHERE p.status = :status")
     long countByStatus(@Param("status") Project.Status status);
     
+    // Streams in batches without loading entities into the persistence context; call inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.viettel.vgov.dto.response.ProjectSuggestionDto(p.id, p.projectCode, p.projectName, p.pmEmail, p.status) " +
+           "FROM Project p")
+    Stream<ProjectSuggestionDto> streamProjectSuggestions();
+    
     @Query("SELECT p FROM Project p WHERE p.pmEmail = :pmEmail ORDER BY p.createdAt DESC")
     List<Project> findProjectsManagedByPm(@Param("pmEmail") String pmEmail);
     
+    // Filter methods take a search term prepared with TextNormalizer.searchTerm (folded and LIKE-escaped)
+    
     // Filter methods for admin (all projects)
     @Query("SELECT p FROM Project p WHERE " +
-           "(:search IS NULL OR :search = '' OR " +
-           " p.projectName LIKE CONCAT('%', :search, '%') OR " +
-           " p.projectCode LIKE CONCAT('%', :search, '%') OR " +
-           " p.description LIKE CONCAT('%', :search, '%')) AND " +
+           "(:search IS NULL OR p.searchText LIKE CONCAT('%', CAST(:search AS String), '%') ESCAPE '\\') AND " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:projectType IS NULL OR p.projectType = :projectType)")
     Page<Project> findProjectsWithFilters(@Param("search") String search,
@@ -63,10 +76,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Filter methods for PM (only their managed projects)
     @Query("SELECT p FROM Project p WHERE " +
            "p.pmEmail = :pmEmail AND " +
-           "(:search IS NULL OR :search = '' OR " +
-           " p.projectName LIKE CONCAT('%', :search, '%') OR " +
-           " p.projectCode LIKE CONCAT('%', :search, '%') OR " +
-           " p.description LIKE CONCAT('%', :search, '%')) AND " +
+           "(:search IS NULL OR p.searchText LIKE CONCAT('%', CAST(:search AS String), '%') ESCAPE '\\') AND " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:projectType IS NULL OR p.projectType = :projectType)")
     Page<Project> findProjectsWithFiltersForPM(@Param("pmEmail") String pmEmail,
@@ -78,10 +88,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Filter methods for users (only assigned projects)
     @Query("SELECT DISTINCT p FROM Project p JOIN p.projectMembers pm WHERE " +
            "pm.user.id = :userId AND pm.isActive = true AND p.status != 'Closed' AND " +
-           "(:search IS NULL OR :search = '' OR " +
-           " p.projectName LIKE CONCAT('%', :search, '%') OR " +
-           " p.projectCode LIKE CONCAT('%', :search, '%') OR " +
-           " p.description LIKE CONCAT('%', :search, '%')) AND " +
+           "(:search IS NULL OR p.searchText LIKE CONCAT('%', CAST(:search AS String), '%') ESCAPE '\\') AND " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:projectType IS NULL OR p.projectType = :projectType)")
     Page<Project> findProjectsWithFiltersForUser(@Param("userId") Long userId,
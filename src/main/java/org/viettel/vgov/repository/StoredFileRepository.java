@@ -0,0 +1,16 @@
+package org.viettel.vgov.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.viettel.vgov.model.StoredFile;
+
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+    
+    @Query("SELECT f.blob.hash FROM StoredFile f WHERE f.filename = :filename")
+    Optional<String> findBlobHashByFilename(@Param("filename") String filename);
+}
@@ -0,0 +1,28 @@
+package org.viettel.vgov.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.viettel.vgov.model.TokenRevocation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    
+    // Stamped with the database clock, which every node polls against
+    @Modifying
+    @Query(value = "INSERT INTO token_revocations (token_id, expires_at, revoked_at) " +
+            "VALUES (:tokenId, :expiresAt, localtimestamp) ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+    int insert(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Query("SELECT r FROM TokenRevocation r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<TokenRevocation> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
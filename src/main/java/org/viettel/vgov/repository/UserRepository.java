@@ -1,23 +1,38 @@
 package org.viettel.vgov.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.viettel.vgov.dto.response.UserSuggestionDto;
 import org.viettel.vgov.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Used to authenticate, so it must see password, role and status changes made on other nodes:
+    // read past the node-local second-level cache, and refresh it with what the database returned
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
     Optional<User> findByEmail(String email);
     
     Optional<User> findByEmployeeCode(String employeeCode);
     
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+    
     boolean existsByEmail(String email);
     
     boolean existsByEmployeeCode(String employeeCode);
@@ -34,24 +49,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u JOIN FETCH u.createdBy WHERE u.id = :id")
     Optional<User> findByIdWithCreatedBy(@Param("id") Long id);
     
-    @Query("SELECT u FROM User u WHERE u.fullName LIKE %:name% AND u.isActive = true")
-    List<User> findByFullNameContainingIgnoreCaseAndIsActiveTrue(@Param("name") String name);
+    // Matches name, email and employee code; expects a term prepared with TextNormalizer.searchTerm
+    @Query("SELECT u FROM User u WHERE u.searchText LIKE CONCAT('%', :term, '%') ESCAPE '\\' AND u.isActive = true")
+    List<User> searchActiveByText(@Param("term") String term);
+    
+    // Streams in batches without loading entities into the persistence context; call inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.viettel.vgov.dto.response.UserSuggestionDto(u.id, u.employeeCode, u.fullName, u.email, u.role) " +
+           "FROM User u WHERE u.isActive = true")
+    Stream<UserSuggestionDto> streamActiveUserSuggestions();
     
     // Count methods for dashboard
     long countByIsActive(Boolean isActive);
     
     long countByRole(User.Role role);
     
-    // Filter method for user search with pagination
+    @Query("SELECT u.role AS role, COUNT(u) AS users FROM User u GROUP BY u.role")
+    List<RoleCount> countUsersByRole();
+    
+    // Filter method for user search with pagination; search is prepared with TextNormalizer.searchTerm
     @Query("SELECT u FROM User u WHERE " +
-           "(:search IS NULL OR :search = '' OR " +
-           " u.fullName LIKE CONCAT('%', :search, '%') OR " +
-           " u.email LIKE CONCAT('%', :search, '%') OR " +
-           " u.employeeCode LIKE CONCAT('%', :search, '%')) AND " +
+           "(:search IS NULL OR u.searchText LIKE CONCAT('%', CAST(:search AS String), '%') ESCAPE '\\') AND " +
            "(:roleEnum IS NULL OR u.role = :roleEnum) AND " +
            "(:isActive IS NULL OR u.isActive = :isActive)")
     Page<User> findUsersWithFilters(@Param("search") String search, 
                                    @Param("roleEnum") User.Role roleEnum, 
                                    @Param("isActive") Boolean isActive, 
                                    Pageable pageable);
+    
+    interface RoleCount {
+        User.Role getRole();
+        
+        long getUsers();
+    }
 }
@@ -1,19 +1,44 @@
 package org.viettel.vgov.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Repository;
+import org.viettel.vgov.model.User;
 import org.viettel.vgov.model.WorkLog;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
     
+    // Must match the expression of idx_work_logs_search_trgm (db/search-setup.sql)
+    String SEARCH_DOCUMENT = "vgov_unaccent(coalesce(wl.task_feature, '') || ' ' || coalesce(wl.work_description, ''))";
+    
+    String SEARCH_CONDITION = SEARCH_DOCUMENT + " LIKE '%' || vgov_unaccent(:pattern) || '%' " +
+            "AND (CAST(:userId AS bigint) IS NULL OR wl.user_id = :userId) " +
+            "AND (CAST(:pmEmail AS varchar) IS NULL OR p.pm_email = :pmEmail)";
+    
+    // The /api/worklogs filters; a null parameter leaves that filter out
+    String FILTER_CONDITION = "(CAST(:projectId AS bigint) IS NULL OR wl.project_id = :projectId) " +
+            "AND (CAST(:filterUserId AS bigint) IS NULL OR wl.user_id = :filterUserId) " +
+            "AND (CAST(:fromDate AS date) IS NULL OR wl.work_date >= :fromDate) " +
+            "AND (CAST(:toDate AS date) IS NULL OR wl.work_date <= :toDate) " +
+            "AND (CAST(:minHours AS numeric) IS NULL OR wl.hours_worked >= :minHours) " +
+            "AND (CAST(:maxHours AS numeric) IS NULL OR wl.hours_worked <= :maxHours) " +
+            "AND (CAST(:taskFeature AS varchar) IS NULL OR lower(wl.task_feature) LIKE '%' || lower(:taskFeature) || '%')";
+    
+    // The logs of a Scope: one user's, one PM's projects', or everything when both are null
+    String SCOPE_CONDITION = "(:userId IS NULL OR wl.user.id = :userId) " +
+            "AND (:pmEmail IS NULL OR wl.project.pmEmail = :pmEmail)";
+    
     List<WorkLog> findByUserId(Long userId);
     
     List<WorkLog> findByProjectId(Long projectId);
@@ -34,21 +59,105 @@ public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
     @Query("SELECT SUM(wl.hoursWorked) FROM WorkLog wl WHERE wl.project.id = :projectId AND wl.workDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalHoursByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @Query("SELECT SUM(wl.hoursWorked) FROM WorkLog wl WHERE wl.workDate BETWEEN :startDate AND :endDate")
+    BigDecimal getTotalHoursByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT SUM(wl.hoursWorked) FROM WorkLog wl WHERE wl.project.pmEmail = :pmEmail AND wl.workDate BETWEEN :startDate AND :endDate")
+    BigDecimal getTotalHoursByPmEmailAndDateRange(@Param("pmEmail") String pmEmail, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT wl FROM WorkLog wl WHERE wl.project.pmEmail = :pmEmail ORDER BY wl.workDate DESC")
     List<WorkLog> findWorkLogsByPmEmail(@Param("pmEmail") String pmEmail);
     
     @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project WHERE wl.user.id = :userId ORDER BY wl.workDate DESC")
     List<WorkLog> findByUserIdWithDetails(@Param("userId") Long userId);
     
+    @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project")
+    List<WorkLog> findAllWithDetails();
+    
+    @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project WHERE wl.project.pmEmail = :pmEmail ORDER BY wl.workDate DESC")
+    List<WorkLog> findByPmEmailWithDetails(@Param("pmEmail") String pmEmail);
+    
     @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project WHERE wl.project.id = :projectId ORDER BY wl.workDate DESC")
     List<WorkLog> findByProjectIdWithDetails(@Param("projectId") Long projectId);
     
+    @Query(value = "SELECT wl.id AS id, " +
+           "ts_rank(to_tsvector('simple', " + SEARCH_DOCUMENT + "), plainto_tsquery('simple', vgov_unaccent(:query))) + " +
+           "word_similarity(vgov_unaccent(:query), " + SEARCH_DOCUMENT + ") AS rank " +
+           "FROM work_logs wl JOIN projects p ON p.id = wl.project_id " +
+           "WHERE " + SEARCH_CONDITION + " " +
+           "ORDER BY rank DESC, wl.work_date DESC, wl.id DESC",
+           countQuery = "SELECT COUNT(*) FROM work_logs wl JOIN projects p ON p.id = wl.project_id WHERE " + SEARCH_CONDITION,
+           nativeQuery = true)
+    Page<SearchHit> searchRanked(@Param("query") String query, @Param("pattern") String pattern,
+                                 @Param("userId") Long userId, @Param("pmEmail") String pmEmail, Pageable pageable);
+    
+    // Sorted by the pageable's sort, which may also use the p and u aliases
+    @Query(value = "SELECT wl.id FROM work_logs wl JOIN projects p ON p.id = wl.project_id " +
+           "JOIN users u ON u.id = wl.user_id WHERE " + SEARCH_CONDITION + " AND " + FILTER_CONDITION,
+           nativeQuery = true)
+    List<Long> searchIds(@Param("pattern") String pattern, @Param("userId") Long userId, @Param("pmEmail") String pmEmail,
+                         @Param("projectId") Long projectId, @Param("filterUserId") Long filterUserId,
+                         @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                         @Param("minHours") BigDecimal minHours, @Param("maxHours") BigDecimal maxHours,
+                         @Param("taskFeature") String taskFeature, Pageable pageable);
+    
+    @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project WHERE wl.id IN :ids")
+    List<WorkLog> findByIdInWithDetails(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(wl) FROM WorkLog wl WHERE wl.project.id = :projectId")
     Long countByProjectId(@Param("projectId") Long projectId);
     
+    @Query("SELECT COUNT(wl) FROM WorkLog wl WHERE " + SCOPE_CONDITION)
+    long countInScope(@Param("userId") Long userId, @Param("pmEmail") String pmEmail);
+    
+    @Query("SELECT wl.project.projectName AS projectName, SUM(wl.hoursWorked) AS hours FROM WorkLog wl " +
+           "WHERE " + SCOPE_CONDITION + " GROUP BY wl.project.projectName")
+    List<ProjectHours> sumHoursByProjectInScope(@Param("userId") Long userId, @Param("pmEmail") String pmEmail);
+    
+    @Query("SELECT wl FROM WorkLog wl JOIN FETCH wl.user JOIN FETCH wl.project WHERE " + SCOPE_CONDITION +
+           " ORDER BY wl.createdAt DESC")
+    List<WorkLog> findRecentInScope(@Param("userId") Long userId, @Param("pmEmail") String pmEmail, Pageable pageable);
+    
     @Query("SELECT new org.viettel.vgov.dto.response.AnalyticsResponseDto$WorkLogSummaryDto(wl.workDate, SUM(wl.hoursWorked), CAST(COUNT(wl) AS int), wl.project.id, wl.project.projectName) " +
            "FROM WorkLog wl WHERE wl.project.id = :projectId " +
            "GROUP BY wl.workDate, wl.project.id, wl.project.projectName " +
            "ORDER BY wl.workDate DESC")
     List<org.viettel.vgov.dto.response.AnalyticsResponseDto.WorkLogSummaryDto> findWorkLogSummaryByProject(@Param("projectId") Long projectId);
+    
+    /**
+     * The work logs a user may see, as the userId and pmEmail parameters of
+     * {@link #SCOPE_CONDITION} and {@link #SEARCH_CONDITION}.
+     */
+    record Scope(Long userId, String pmEmail) {
+        
+        public static Scope of(User user) {
+            switch (user.getRole()) {
+                case admin:
+                    // Admin can see all work logs
+                    return new Scope(null, null);
+                case pm:
+                    // PM can see work logs for projects they manage
+                    return new Scope(null, user.getEmail());
+                case dev:
+                case ba:
+                case test:
+                    // Employee can see only their own work logs
+                    return new Scope(user.getId(), null);
+                default:
+                    throw new AccessDeniedException("Access denied");
+            }
+        }
+    }
+    
+    interface SearchHit {
+        Long getId();
+        
+        Double getRank();
+    }
+    
+    interface ProjectHours {
+        String getProjectName();
+        
+        BigDecimal getHours();
+    }
 }
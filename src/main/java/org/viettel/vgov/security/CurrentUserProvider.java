@@ -0,0 +1,56 @@
+package org.viettel.vgov.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.viettel.vgov.exception.ResourceNotFoundException;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.UserRepository;
+
+/**
+ * Resolves the authenticated user. {@link #getPrincipal()} answers id, email and role
+ * straight from the JWT-authenticated principal; {@link #getUser()} loads the entity at
+ * most once per HTTP request and keeps it as a request attribute. Open-in-view keeps one
+ * persistence context per request, so the cached entity stays managed across transactions.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private static final String USER_ATTRIBUTE = CurrentUserProvider.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+
+    public UserPrincipal getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            throw new AccessDeniedException("No authenticated user found");
+        }
+        return userPrincipal;
+    }
+
+    public Long getUserId() {
+        return getPrincipal().getId();
+    }
+
+    public User getUser() {
+        UserPrincipal userPrincipal = getPrincipal();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && user.getId().equals(userPrincipal.getId())) {
+            return user;
+        }
+
+        User user = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
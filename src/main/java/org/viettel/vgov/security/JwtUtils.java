@@ -1,5 +1,6 @@
 package org.viettel.vgov.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
@@ -11,15 +12,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.viettel.vgov.model.User;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Signed with the token, so the filter can trust them without loading the user
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${spring.security.jwt.secret}")
     private String jwtSecret;
 
@@ -31,23 +39,40 @@ public class JwtUtils {
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateTokenForUser((UserPrincipal) authentication.getPrincipal());
+    }
+
+    public String generateTokenForUser(User user) {
+        return generateTokenForUser(UserPrincipal.create(user));
+    }
 
+    private String generateTokenForUser(UserPrincipal userPrincipal) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getEmail())
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(ROLE_CLAIM, userPrincipal.getRole().name())
+                .claim(TOKEN_VERSION_CLAIM, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String generateTokenFromEmail(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * The principal described by the token's claims, or null when any of them is missing;
+     * such a token cannot be checked against the token version and is not accepted.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        // Only active users are issued tokens, and deactivation bumps the token version
+        return new UserPrincipal(userId.longValue(), claims.getSubject(), null, null,
+                User.Role.valueOf(role), true, tokenVersion.intValue());
     }
 
     public String getEmailFromJwtToken(String token) {
@@ -60,12 +85,19 @@ public class JwtUtils {
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getValidClaims(authToken) != null;
+    }
+
+    /**
+     * Claims of a correctly signed, unexpired token, or null; parses the token only once.
+     */
+    public Claims getValidClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                     .setSigningKey(getSigningKey())
                     .build()
-                    .parseClaimsJws(authToken);
-            return true;
+                    .parseClaimsJws(authToken)
+                    .getBody();
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -77,6 +109,6 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,139 @@
+package org.viettel.vgov.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.viettel.vgov.model.TokenRevocation;
+import org.viettel.vgov.repository.TokenRevocationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked access tokens, checked on every request without touching the database. The
+ * exact set only holds revocations whose token has not expired yet; a Bloom filter in
+ * front of it answers the common case, a token that was never revoked, in a few bit tests.
+ * <p>
+ * Revocations are written to the token_revocations table and each node polls it for rows
+ * newer than the last one it saw, so a logout on one node reaches the others within one
+ * poll interval.
+ */
+@Slf4j
+@Component
+public class TokenDenylist implements InitializingBean {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    // A lock rather than a monitor, so virtual threads waiting on it do not pin their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Counter bloomNegatives;
+    private final Counter falsePositives;
+    private final Counter hits;
+
+    @Value("${app.security.revocation.expected-revocations:10000}")
+    private int expectedRevocations;
+
+    @Value("${app.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Rows commit after being stamped, so each poll re-reads this far behind the newest row seen
+    @Value("${app.security.revocation.poll-overlap:1m}")
+    private Duration pollOverlap;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime lastSeen;
+
+    public TokenDenylist(TokenRevocationRepository tokenRevocationRepository, MeterRegistry meterRegistry) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        Gauge.builder("vgov.token.denylist.size", revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+        bloomNegatives = checks(meterRegistry, "bloom-negative");
+        falsePositives = checks(meterRegistry, "false-positive");
+        hits = checks(meterRegistry, "revoked");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        poll();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        LocalDateTime expiresAt = revoked.get(tokenId);
+        if (expiresAt == null || expiresAt.isBefore(LocalDateTime.now())) {
+            falsePositives.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Revokes an access token on this node at once and on the others at their next poll.
+     */
+    @Transactional
+    public void revoke(String tokenId, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        tokenRevocationRepository.insert(tokenId, expiry);
+        remember(tokenId, expiry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval:5s}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        // The first poll loads every revocation still in force
+        LocalDateTime since = lastSeen != null ? lastSeen.minus(pollOverlap) : LocalDateTime.of(1970, 1, 1, 0, 0);
+        for (TokenRevocation revocation : tokenRevocationRepository.findRevokedSince(since, now)) {
+            remember(revocation.getTokenId(), revocation.getExpiresAt());
+            if (lastSeen == null || revocation.getRevokedAt().isAfter(lastSeen)) {
+                lastSeen = revocation.getRevokedAt();
+            }
+        }
+        // Bloom filters cannot forget, so expired entries are dropped by rebuilding it
+        writeLock.lock();
+        try {
+            if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+                BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+                revoked.keySet().forEach(rebuilt::add);
+                filter = rebuilt;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void remember(String tokenId, LocalDateTime expiresAt) {
+        // Under the lock, so a rebuild cannot swap in a filter that misses this entry
+        writeLock.lock();
+        try {
+            if (revoked.putIfAbsent(tokenId, expiresAt) == null) {
+                filter.add(tokenId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("vgov.token.denylist.checks")
+                .tag("result", result)
+                .description("Access token revocation checks by how they were answered")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package org.viettel.vgov.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.CacheManager;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.util.LocalLoadingCache;
+
+import java.time.Duration;
+
+/**
+ * Current token version per user, so a JWT can be trusted for id and role without loading
+ * the user. Versions bumped on this node apply at once; bumps on other nodes are picked up
+ * when the cached value expires, so {@code cache-ttl} bounds how long a demoted or
+ * deactivated user's tokens keep working there. At most {@code max-cached-users} versions
+ * are kept; beyond that the cache evicts.
+ */
+@Component
+public class TokenVersions implements InitializingBean {
+
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.token-version.cache-ttl:30s}")
+    private Duration cacheTtl;
+
+    @Value("${app.security.token-version.max-cached-users:100000}")
+    private int maxCachedUsers;
+
+    private LocalLoadingCache<Long, Integer> versions;
+
+    public TokenVersions(UserRepository userRepository, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        versions = new LocalLoadingCache<>(cacheManager, "token-versions", Long.class, cacheTtl, maxCachedUsers,
+                meterRegistry, "vgov.token.version.lookups",
+                "Token version checks answered from the cache or the database");
+    }
+
+    /**
+     * Whether a token stamped with {@code tokenVersion} is still current for the user.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER)) == tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. Must run inside the transaction that
+     * saves the user; the cached version is dropped once it commits.
+     */
+    public void bump(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        versions.invalidate(user.getId());
+    }
+}
@@ -22,6 +22,7 @@ public class UserPrincipal implements UserDetails {
     private String fullName;
     private User.Role role;
     private Boolean isActive;
+    private Integer tokenVersion;
     
     public static UserPrincipal create(User user) {
         return new UserPrincipal(
@@ -30,7 +31,8 @@ public class UserPrincipal implements UserDetails {
                 user.getPasswordHash(),
                 user.getFullName(),
                 user.getRole(),
-                user.getIsActive()
+                user.getIsActive(),
+                user.getTokenVersion()
         );
     }
     
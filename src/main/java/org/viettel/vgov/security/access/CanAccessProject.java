@@ -0,0 +1,23 @@
+package org.viettel.vgov.security.access;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets admins and PMs through, and other roles only when they are an active member of the
+ * project whose id is passed in the parameter named {@link #value()}. Checked by
+ * {@link ProjectAccessAuthorizationManager} in place of a {@code @PreAuthorize} expression.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CanAccessProject {
+
+    /**
+     * Name of the {@code Long} parameter holding the project id.
+     */
+    String value() default "id";
+}
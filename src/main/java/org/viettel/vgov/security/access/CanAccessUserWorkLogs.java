@@ -0,0 +1,22 @@
+package org.viettel.vgov.security.access;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets admins and PMs through, and other roles only for their own id passed in the parameter
+ * named {@link #value()}. Checked by {@link UserWorkLogAccessAuthorizationManager}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CanAccessUserWorkLogs {
+
+    /**
+     * Name of the {@code Long} parameter holding the user id.
+     */
+    String value() default "userId";
+}
@@ -0,0 +1,23 @@
+package org.viettel.vgov.security.access;
+
+import org.viettel.vgov.security.UserPrincipal;
+
+import java.util.function.Supplier;
+
+/**
+ * Checks {@link CanAccessProject} against the cached project memberships of the caller.
+ */
+public class ProjectAccessAuthorizationManager extends IdArgumentAuthorizationManager<CanAccessProject> {
+
+    private final Supplier<ProjectMembershipIndex> membershipIndex;
+
+    public ProjectAccessAuthorizationManager(Supplier<ProjectMembershipIndex> membershipIndex) {
+        super(CanAccessProject.class, CanAccessProject::value);
+        this.membershipIndex = membershipIndex;
+    }
+
+    @Override
+    protected boolean isGranted(UserPrincipal principal, Long projectId) {
+        return membershipIndex.get().projectIds(principal.getId()).contains(projectId);
+    }
+}
@@ -0,0 +1,59 @@
+package org.viettel.vgov.security.access;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.CacheManager;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.viettel.vgov.repository.ProjectMemberRepository;
+import org.viettel.vgov.util.LocalLoadingCache;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Ids of the projects each user is an active member of, so project access checks do not
+ * query per request. Membership changes on this node evict the user at once; changes on
+ * other nodes show up when the entry expires after {@code cache-ttl}.
+ */
+@Component
+public class ProjectMembershipIndex implements InitializingBean {
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.project-access.cache-ttl:30s}")
+    private Duration cacheTtl;
+
+    @Value("${app.security.project-access.max-cached-users:100000}")
+    private int maxCachedUsers;
+
+    private LocalLoadingCache<Long, Set<Long>> memberships;
+
+    public ProjectMembershipIndex(ProjectMemberRepository projectMemberRepository, CacheManager cacheManager,
+                                  MeterRegistry meterRegistry) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        memberships = new LocalLoadingCache<>(cacheManager, "project-memberships", Long.class, cacheTtl,
+                maxCachedUsers, meterRegistry, "vgov.project.access.lookups",
+                "Project membership checks answered from the cache or the database");
+    }
+
+    public Set<Long> projectIds(Long userId) {
+        return memberships.get(userId, id -> Set.copyOf(projectMemberRepository.findActiveProjectIdsByUserId(id)));
+    }
+
+    /**
+     * Forgets the user's memberships once the current transaction commits, so the next check
+     * reads the committed rows.
+     */
+    public void evict(Long userId) {
+        memberships.invalidate(userId);
+    }
+}
@@ -0,0 +1,18 @@
+package org.viettel.vgov.security.access;
+
+import org.viettel.vgov.security.UserPrincipal;
+
+/**
+ * Checks {@link CanAccessUserWorkLogs}: employees may only read their own work logs.
+ */
+public class UserWorkLogAccessAuthorizationManager extends IdArgumentAuthorizationManager<CanAccessUserWorkLogs> {
+
+    public UserWorkLogAccessAuthorizationManager() {
+        super(CanAccessUserWorkLogs.class, CanAccessUserWorkLogs::value);
+    }
+
+    @Override
+    protected boolean isGranted(UserPrincipal principal, Long userId) {
+        return principal.getId().equals(userId);
+    }
+}
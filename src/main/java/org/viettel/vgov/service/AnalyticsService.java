@@ -1,8 +1,6 @@
 package org.viettel.vgov.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.response.AnalyticsResponseDto;
@@ -13,7 +11,7 @@ import org.viettel.vgov.repository.ProjectMemberRepository;
 import org.viettel.vgov.repository.ProjectRepository;
 import org.viettel.vgov.repository.UserRepository;
 import org.viettel.vgov.repository.WorkLogRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -30,9 +28,10 @@ public class AnalyticsService {
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final WorkLogRepository workLogRepository;
+    private final CurrentUserProvider currentUserProvider;
     
     public AnalyticsResponseDto getProjectAnalytics() {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         List<Project> projects = getAccessibleProjects(currentUser);
         
         AnalyticsResponseDto analytics = new AnalyticsResponseDto();
@@ -67,6 +66,7 @@ public class AnalyticsService {
     
     public AnalyticsResponseDto getEmployeeAnalytics() {
         List<User> employees = userRepository.findByIsActiveTrue();
+        Map<Long, ProjectMemberRepository.UserWorkload> workloads = activeWorkloadsByUser();
         
         AnalyticsResponseDto analytics = new AnalyticsResponseDto();
         
@@ -85,8 +85,7 @@ public class AnalyticsService {
         // Average workload
         BigDecimal totalWorkload = employees.stream()
                 .filter(u -> u.getRole() != User.Role.admin)
-                .map(u -> projectMemberRepository.getTotalWorkloadByUserId(u.getId()))
-                .filter(Objects::nonNull)
+                .map(u -> totalWorkload(workloads, u))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         long nonAdminEmployees = employees.stream()
@@ -102,8 +101,9 @@ public class AnalyticsService {
     }
     
     public AnalyticsResponseDto getWorkloadAnalytics() {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         List<User> employees = userRepository.findByIsActiveTrue();
+        Map<Long, ProjectMemberRepository.UserWorkload> workloads = activeWorkloadsByUser();
         List<Project> projects = getAccessibleProjects(currentUser);
         
         AnalyticsResponseDto analytics = new AnalyticsResponseDto();
@@ -148,8 +148,7 @@ public class AnalyticsService {
         // Average workload
         BigDecimal totalWorkload = employees.stream()
                 .filter(u -> u.getRole() != User.Role.admin)
-                .map(u -> projectMemberRepository.getTotalWorkloadByUserId(u.getId()))
-                .filter(Objects::nonNull)
+                .map(u -> totalWorkload(workloads, u))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         long nonAdminEmployees = employees.stream()
@@ -169,8 +168,7 @@ public class AnalyticsService {
             
             BigDecimal roleWorkload = employees.stream()
                     .filter(u -> u.getRole() == role)
-                    .map(u -> projectMemberRepository.getTotalWorkloadByUserId(u.getId()))
-                    .filter(Objects::nonNull)
+                    .map(u -> totalWorkload(workloads, u))
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
             
             workloadByRole.put(role.name(), roleWorkload);
@@ -181,15 +179,14 @@ public class AnalyticsService {
         List<AnalyticsResponseDto.UserWorkloadDto> topWorkloadUsers = employees.stream()
                 .filter(u -> u.getRole() != User.Role.admin)
                 .map(u -> {
-                    BigDecimal workload = projectMemberRepository.getTotalWorkloadByUserId(u.getId());
-                    Integer projectCount = projectMemberRepository.countActiveProjectsByUserId(u.getId());
+                    ProjectMemberRepository.UserWorkload workload = workloads.get(u.getId());
                     
                     return new AnalyticsResponseDto.UserWorkloadDto(
                             u.getId(),
                             u.getFullName(),
                             u.getEmail(),
-                            workload != null ? workload : BigDecimal.ZERO,
-                            projectCount != null ? projectCount : 0
+                            totalWorkload(workloads, u),
+                            workload != null ? workload.getProjectCount().intValue() : 0
                     );
                 })
                 .sorted((u1, u2) -> u2.getTotalWorkload().compareTo(u1.getTotalWorkload()))
@@ -204,8 +201,7 @@ public class AnalyticsService {
         
         BigDecimal totalUsedWorkload = employees.stream()
                 .filter(u -> u.getRole() != User.Role.admin)
-                .map(u -> projectMemberRepository.getTotalWorkloadByUserId(u.getId()))
-                .filter(Objects::nonNull)
+                .map(u -> totalWorkload(workloads, u))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         BigDecimal utilization = totalCapacity.compareTo(BigDecimal.ZERO) > 0
@@ -221,7 +217,7 @@ public class AnalyticsService {
     }
     
     public AnalyticsResponseDto getProjectTimeline(Long projectId) {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
         
@@ -252,13 +248,6 @@ public class AnalyticsService {
         return analytics;
     }
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-    }
-    
     private List<Project> getAccessibleProjects(User user) {
         switch (user.getRole()) {
             case admin:
@@ -270,6 +259,17 @@ public class AnalyticsService {
         }
     }
     
+    // One grouped query instead of a workload query per employee
+    private Map<Long, ProjectMemberRepository.UserWorkload> activeWorkloadsByUser() {
+        return projectMemberRepository.findActiveWorkloadsByUser().stream()
+                .collect(Collectors.toMap(ProjectMemberRepository.UserWorkload::getUserId, w -> w));
+    }
+    
+    private BigDecimal totalWorkload(Map<Long, ProjectMemberRepository.UserWorkload> workloads, User user) {
+        ProjectMemberRepository.UserWorkload workload = workloads.get(user.getId());
+        return workload != null && workload.getTotalWorkload() != null ? workload.getTotalWorkload() : BigDecimal.ZERO;
+    }
+    
     private boolean canAccessProject(User user, Project project) {
         switch (user.getRole()) {
             case admin:
@@ -289,7 +289,7 @@ public class AnalyticsService {
     }
     
     public AnalyticsResponseDto getProjectTimelineAnalytics(LocalDate startDate, LocalDate endDate) {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         List<Project> allProjects = getAccessibleProjects(currentUser);
         
         AnalyticsResponseDto analytics = new AnalyticsResponseDto();
@@ -1,5 +1,6 @@
 package org.viettel.vgov.service;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -7,14 +8,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.viettel.vgov.dto.request.LoginRequestDto;
 import org.viettel.vgov.dto.response.JwtResponseDto;
 import org.viettel.vgov.dto.response.UserResponseDto;
+import org.viettel.vgov.exception.InvalidTokenException;
 import org.viettel.vgov.mapper.UserMapper;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.security.CurrentUserProvider;
 import org.viettel.vgov.security.JwtUtils;
+import org.viettel.vgov.security.TokenDenylist;
 import org.viettel.vgov.security.UserPrincipal;
 
 @Service
@@ -27,7 +33,12 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final UserMapper userMapper;
+    private final CurrentUserProvider currentUserProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenDenylist tokenDenylist;
     
+    // No surrounding transaction: it would hold a connection while the password hash queues and runs
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public JwtResponseDto authenticateUser(LoginRequestDto loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -45,27 +56,37 @@ public class AuthService {
         
         UserResponseDto userResponse = userMapper.toResponseDto(user);
         
-        return new JwtResponseDto(jwt, userResponse);
+        return new JwtResponseDto(jwt, refreshTokenService.issue(user), userResponse);
     }
     
     public UserResponseDto getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("No authenticated user found");
-        }
-        
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User user = userRepository.findByEmail(userPrincipal.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return userMapper.toResponseDto(user);
+        return userMapper.toResponseDto(currentUserProvider.getUser());
     }
     
-    public String refreshToken(String email) {
-        return jwtUtils.generateTokenFromEmail(email);
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public JwtResponseDto refreshToken(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        String jwt = jwtUtils.generateTokenForUser(rotation.user());
+        
+        return new JwtResponseDto(jwt, rotation.refreshToken(), userMapper.toResponseDto(rotation.user()));
     }
     
-    public void logout() {
+    public void logout(String accessToken, String refreshToken) {
+        Claims claims = accessToken != null ? jwtUtils.getValidClaims(accessToken) : null;
+        User user = claims != null ? userRepository.findByEmail(claims.getSubject()).orElse(null) : null;
+        if (StringUtils.hasText(refreshToken)) {
+            // Only the access token's user may end a session, so a copied refresh token cannot log someone else out
+            if (user == null) {
+                throw new InvalidTokenException("A valid access token is required to revoke a refresh token");
+            }
+            refreshTokenService.revoke(refreshToken, user.getId());
+        } else if (user != null) {
+            // Without the refresh token this session's family is unknown, so end them all
+            refreshTokenService.revokeAll(user.getId());
+        }
+        if (claims != null && claims.getId() != null) {
+            tokenDenylist.revoke(claims.getId(), claims.getExpiration());
+        }
         SecurityContextHolder.clearContext();
     }
 }
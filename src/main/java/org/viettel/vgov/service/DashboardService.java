@@ -1,21 +1,19 @@
 package org.viettel.vgov.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.response.DashboardResponseDto;
 import org.viettel.vgov.dto.response.ProjectResponseDto;
 import org.viettel.vgov.dto.response.WorkLogResponseDto;
-import org.viettel.vgov.exception.ResourceNotFoundException;
 import org.viettel.vgov.mapper.ProjectMapper;
 import org.viettel.vgov.mapper.WorkLogMapper;
 import org.viettel.vgov.model.Project;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.model.WorkLog;
 import org.viettel.vgov.repository.*;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,12 +34,10 @@ public class DashboardService {
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectMapper projectMapper;
     private final WorkLogMapper workLogMapper;
+    private final CurrentUserProvider currentUserProvider;
     
     public DashboardResponseDto getDashboardData() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         DashboardResponseDto dashboard = new DashboardResponseDto();
         
@@ -71,13 +67,17 @@ public class DashboardService {
     private DashboardResponseDto.UserStats getUserStats() {
         DashboardResponseDto.UserStats userStats = new DashboardResponseDto.UserStats();
         
-        userStats.setTotalUsers(userRepository.count());
+        // One grouped count instead of a count query per role
+        Map<User.Role, Long> usersByRole = userRepository.countUsersByRole().stream()
+                .collect(Collectors.toMap(UserRepository.RoleCount::getRole, UserRepository.RoleCount::getUsers));
+        
+        userStats.setTotalUsers(usersByRole.values().stream().mapToLong(Long::longValue).sum());
         userStats.setActiveUsers(userRepository.countByIsActive(true));
-        userStats.setAdminUsers(userRepository.countByRole(User.Role.admin));
-        userStats.setPmUsers(userRepository.countByRole(User.Role.pm));
-        userStats.setDevUsers(userRepository.countByRole(User.Role.dev));
-        userStats.setBaUsers(userRepository.countByRole(User.Role.ba));
-        userStats.setTestUsers(userRepository.countByRole(User.Role.test));
+        userStats.setAdminUsers(usersByRole.getOrDefault(User.Role.admin, 0L));
+        userStats.setPmUsers(usersByRole.getOrDefault(User.Role.pm, 0L));
+        userStats.setDevUsers(usersByRole.getOrDefault(User.Role.dev, 0L));
+        userStats.setBaUsers(usersByRole.getOrDefault(User.Role.ba, 0L));
+        userStats.setTestUsers(usersByRole.getOrDefault(User.Role.test, 0L));
         
         return userStats;
     }
@@ -126,23 +126,18 @@ public class DashboardService {
         
         LocalDate now = LocalDate.now();
         LocalDate startOfMonth = now.withDayOfMonth(1);
+        LocalDate endOfMonth = now.withDayOfMonth(now.lengthOfMonth());
         LocalDate startOfLastMonth = startOfMonth.minusMonths(1);
         LocalDate endOfLastMonth = startOfMonth.minusDays(1);
         
-        List<WorkLog> userWorkLogs = getUserAccessibleWorkLogs(currentUser);
+        WorkLogRepository.Scope scope = WorkLogRepository.Scope.of(currentUser);
         
-        // Total hours this month
-        BigDecimal thisMonthHours = userWorkLogs.stream()
-                .filter(wl -> !wl.getWorkDate().isBefore(startOfMonth))
-                .map(WorkLog::getHoursWorked)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Month totals are summed in the database so only that month's partition is read
+        BigDecimal thisMonthHours = getUserAccessibleHours(currentUser, startOfMonth, endOfMonth);
         workLogStats.setTotalHoursThisMonth(thisMonthHours);
         
         // Total hours last month
-        BigDecimal lastMonthHours = userWorkLogs.stream()
-                .filter(wl -> !wl.getWorkDate().isBefore(startOfLastMonth) && !wl.getWorkDate().isAfter(endOfLastMonth))
-                .map(WorkLog::getHoursWorked)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal lastMonthHours = getUserAccessibleHours(currentUser, startOfLastMonth, endOfLastMonth);
         workLogStats.setTotalHoursLastMonth(lastMonthHours);
         
         // Average hours per day (this month)
@@ -151,13 +146,15 @@ public class DashboardService {
                 thisMonthHours.divide(BigDecimal.valueOf(daysInMonth), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO;
         workLogStats.setAverageHoursPerDay(averageHours);
         
-        workLogStats.setTotalWorkLogs(userWorkLogs.size());
+        // Count and per-project hours are aggregated in the database instead of loading every log
+        workLogStats.setTotalWorkLogs(workLogRepository.countInScope(scope.userId(), scope.pmEmail()));
         
         // Hours by project
-        Map<String, BigDecimal> hoursByProject = userWorkLogs.stream()
-                .collect(Collectors.groupingBy(
-                        wl -> wl.getProject().getProjectName(),
-                        Collectors.reducing(BigDecimal.ZERO, WorkLog::getHoursWorked, BigDecimal::add)
+        Map<String, BigDecimal> hoursByProject = workLogRepository.sumHoursByProjectInScope(scope.userId(), scope.pmEmail())
+                .stream()
+                .collect(Collectors.toMap(
+                        WorkLogRepository.ProjectHours::getProjectName,
+                        WorkLogRepository.ProjectHours::getHours
                 ));
         workLogStats.setHoursByProject(hoursByProject);
         
@@ -176,10 +173,9 @@ public class DashboardService {
     }
     
     private List<WorkLogResponseDto> getRecentWorkLogs(User currentUser) {
-        List<WorkLog> recentWorkLogs = getUserAccessibleWorkLogs(currentUser).stream()
-                .sorted((wl1, wl2) -> wl2.getCreatedAt().compareTo(wl1.getCreatedAt()))
-                .limit(10)
-                .collect(Collectors.toList());
+        WorkLogRepository.Scope scope = WorkLogRepository.Scope.of(currentUser);
+        List<WorkLog> recentWorkLogs = workLogRepository.findRecentInScope(
+                scope.userId(), scope.pmEmail(), PageRequest.of(0, 10));
         
         return recentWorkLogs.stream()
                 .map(workLogMapper::toResponseDto)
@@ -201,18 +197,23 @@ public class DashboardService {
         }
     }
     
-    private List<WorkLog> getUserAccessibleWorkLogs(User currentUser) {
+    private BigDecimal getUserAccessibleHours(User currentUser, LocalDate startDate, LocalDate endDate) {
+        BigDecimal hours;
         switch (currentUser.getRole()) {
             case admin:
-                return workLogRepository.findAll();
+                hours = workLogRepository.getTotalHoursByDateRange(startDate, endDate);
+                break;
             case pm:
-                return workLogRepository.findWorkLogsByPmEmail(currentUser.getEmail());
+                hours = workLogRepository.getTotalHoursByPmEmailAndDateRange(currentUser.getEmail(), startDate, endDate);
+                break;
             case dev:
             case ba:
             case test:
-                return workLogRepository.findByUserId(currentUser.getId());
+                hours = workLogRepository.getTotalHoursByUserAndDateRange(currentUser.getId(), startDate, endDate);
+                break;
             default:
-                return List.of();
+                hours = null;
         }
+        return hours != null ? hours : BigDecimal.ZERO;
     }
 }
@@ -3,17 +3,17 @@ package org.viettel.vgov.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.viettel.vgov.dto.response.FileUploadResponseDto;
+import org.viettel.vgov.exception.ResourceNotFoundException;
+import org.viettel.vgov.storage.FileStorage;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,8 +21,8 @@ import java.util.UUID;
 @Slf4j
 public class FileService {
     
-    @Value("${app.file.upload-dir:./uploads}")
-    private String uploadDir;
+    private final FileStorage fileStorage;
+    private final ImageVariantService imageVariantService;
     
     @Value("${app.file.base-url:http://localhost:8080/api/files}")
     private String baseUrl;
@@ -40,26 +40,24 @@ public class FileService {
                 throw new RuntimeException("Invalid file type. Only images are allowed.");
             }
             
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
             // Generate unique filename
             String originalFilename = file.getOriginalFilename();
             String fileExtension = getFileExtension(originalFilename);
             String newFilename = UUID.randomUUID().toString() + fileExtension;
             
-            // Save file
-            Path filePath = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Stream the upload to the storage backend
+            try (InputStream inputStream = file.getInputStream()) {
+                fileStorage.store(newFilename, inputStream, file.getSize(), contentType);
+            }
             
             // Generate URL
             String fileUrl = baseUrl + "/" + newFilename;
             
             log.info("File uploaded successfully: {}", newFilename);
             
+            // Thumbnails are produced in the background; until then the original is served
+            imageVariantService.generateVariants(newFilename);
+            
             return new FileUploadResponseDto(
                     newFilename,
                     originalFilename,
@@ -76,24 +74,63 @@ public class FileService {
     
     public Resource getFile(String filename) {
         try {
-            Path filePath = Paths.get(uploadDir).resolve(filename);
-            Resource resource = new FileSystemResource(filePath);
-            
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new RuntimeException("File not found: " + filename);
-            }
-        } catch (Exception e) {
+            return fileStorage.load(filename);
+        } catch (IOException e) {
             log.error("Failed to retrieve file: {}", filename, e);
             throw new RuntimeException("Failed to retrieve file: " + e.getMessage());
         }
     }
     
+    public Optional<String> getDirectUrl(String filename) {
+        try {
+            return fileStorage.directUrl(filename);
+        } catch (IOException e) {
+            log.error("Failed to create direct URL for file: {}", filename, e);
+            throw new RuntimeException("Failed to retrieve file: " + e.getMessage());
+        }
+    }
+    
+    public String resolveVariant(String filename, Integer size) {
+        if (size == null) {
+            return filename;
+        }
+        
+        Integer variantSize = imageVariantService.selectSize(size);
+        if (variantSize == null) {
+            return filename;
+        }
+        
+        String variantFilename = imageVariantService.variantFilename(filename, variantSize);
+        try {
+            if (fileStorage.exists(variantFilename)) {
+                return variantFilename;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to check image variant: {}", variantFilename, e);
+        }
+        // Not generated yet, or not an image we can decode
+        return filename;
+    }
+    
+    public Optional<Path> getLocalPath(String filename) {
+        return fileStorage.localPath(filename);
+    }
+    
+    public Optional<String> getContentHash(String filename) {
+        try {
+            return fileStorage.contentHash(filename);
+        } catch (IOException e) {
+            log.warn("Failed to read content hash: {}", filename, e);
+            return Optional.empty();
+        }
+    }
+    
     public boolean deleteFile(String filename) {
         try {
-            Path filePath = Paths.get(uploadDir).resolve(filename);
-            boolean deleted = Files.deleteIfExists(filePath);
+            boolean deleted = fileStorage.delete(filename);
+            for (String variantFilename : imageVariantService.variantFilenames(filename)) {
+                fileStorage.delete(variantFilename);
+            }
             
             if (deleted) {
                 log.info("File deleted successfully: {}", filename);
@@ -109,10 +146,20 @@ public class FileService {
     }
     
     public String getFileUrl(String filename) {
+        // Prefer a URL the client can fetch from storage directly
+        Optional<String> directUrl = getDirectUrl(filename);
+        if (directUrl.isPresent()) {
+            return directUrl.get();
+        }
+        
         // Check if file exists
-        Path filePath = Paths.get(uploadDir).resolve(filename);
-        if (!Files.exists(filePath)) {
-            throw new RuntimeException("File not found: " + filename);
+        try {
+            if (!fileStorage.exists(filename)) {
+                throw new ResourceNotFoundException("File not found: " + filename);
+            }
+        } catch (IOException e) {
+            log.error("Failed to check file: {}", filename, e);
+            throw new RuntimeException("Failed to check file: " + e.getMessage());
         }
         
         return baseUrl + "/" + filename;
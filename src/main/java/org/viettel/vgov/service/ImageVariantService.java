@@ -0,0 +1,172 @@
+package org.viettel.vgov.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.viettel.vgov.storage.FileStorage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantService {
+    
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.85f;
+    
+    private final FileStorage fileStorage;
+    
+    @Value("${app.file.image.variant-sizes:32,64,256}")
+    private List<Integer> variantSizes;
+    
+    @Value("${app.file.image.max-pixels:40000000}")
+    private long maxPixels;
+    
+    @Async("imageTaskExecutor")
+    public void generateVariants(String filename) {
+        try {
+            BufferedImage source = readSquare(filename);
+            if (source == null) {
+                return;
+            }
+            
+            // Produce the largest variant first and derive the smaller ones from it
+            List<Integer> sizes = variantSizes.stream().sorted((a, b) -> b - a).toList();
+            BufferedImage current = source;
+            for (int size : sizes) {
+                current = scaleDown(current, size);
+                byte[] jpeg = encodeJpeg(current);
+                fileStorage.store(variantFilename(filename, size), new ByteArrayInputStream(jpeg),
+                        jpeg.length, VARIANT_CONTENT_TYPE);
+            }
+            log.info("Generated {} image variants for {}", sizes.size(), filename);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate image variants for {}: {}", filename, e.getMessage());
+        }
+    }
+    
+    /**
+     * Picks the smallest configured variant covering the requested size, or null
+     * when the request is larger than every variant.
+     */
+    public Integer selectSize(int requestedSize) {
+        return variantSizes.stream()
+                .filter(size -> size >= requestedSize)
+                .min(Integer::compare)
+                .orElse(null);
+    }
+    
+    public List<String> variantFilenames(String filename) {
+        return variantSizes.stream().map(size -> variantFilename(filename, size)).toList();
+    }
+    
+    public String variantFilename(String filename, int size) {
+        int dot = filename.lastIndexOf('.');
+        String baseName = dot == -1 ? filename : filename.substring(0, dot);
+        return baseName + "_" + size + ".jpg";
+    }
+    
+    // Decodes the centre square of the image, subsampled to roughly twice the largest variant
+    private BufferedImage readSquare(String filename) throws IOException {
+        try (InputStream inputStream = fileStorage.load(filename).getInputStream();
+             ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageStream != null
+                    ? ImageIO.getImageReaders(imageStream)
+                    : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                log.info("No image reader for {}, serving the original only", filename);
+                return null;
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Guard against decompression bombs: a small file can declare a huge canvas
+                if ((long) width * height > maxPixels) {
+                    log.warn("Image {} is {}x{}, above the {} pixel limit", filename, width, height, maxPixels);
+                    return null;
+                }
+                
+                int side = Math.min(width, height);
+                int largest = variantSizes.stream().max(Integer::compare).orElse(side);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                int subsampling = Math.max(1, side / (largest * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    // Halves the image until close to the target, which keeps bilinear scaling sharp.
+    // Images already at or below the target are kept as they are rather than enlarged.
+    private BufferedImage scaleDown(BufferedImage image, int size) {
+        BufferedImage current = image;
+        int side = Math.min(current.getWidth(), current.getHeight());
+        if (side <= size) {
+            return current;
+        }
+        do {
+            side = Math.max(size, side / 2);
+            current = resize(current, side);
+        } while (side > size);
+        return current;
+    }
+    
+    private BufferedImage resize(BufferedImage image, int side) {
+        // JPEG has no alpha channel, so transparent areas are flattened onto white
+        BufferedImage resized = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, side, side);
+            graphics.drawImage(image, 0, 0, side, side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+    
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageStream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -3,8 +3,6 @@ package org.viettel.vgov.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.response.NotificationResponseDto;
@@ -15,6 +13,7 @@ import org.viettel.vgov.model.Project;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.NotificationRepository;
 import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.security.CurrentUserProvider;
 import org.viettel.vgov.security.UserPrincipal;
 
 import java.util.List;
@@ -28,10 +27,10 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
+    private final CurrentUserProvider currentUserProvider;
     
     public Page<NotificationResponseDto> getCurrentUserNotifications(Pageable pageable, Boolean isRead, String notificationType) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         Page<Notification> notifications = notificationRepository.findByUserIdWithFilters(
                 userPrincipal.getId(), isRead, notificationType, pageable);
@@ -40,8 +39,7 @@ public class NotificationService {
     }
     
     public List<NotificationResponseDto> getAllCurrentUserNotifications() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userPrincipal.getId());
         return notifications.stream()
@@ -50,8 +48,7 @@ public class NotificationService {
     }
     
     public List<NotificationResponseDto> getUnreadNotifications() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         List<Notification> notifications = notificationRepository.findUnreadNotificationsByUserId(userPrincipal.getId());
         return notifications.stream()
@@ -60,15 +57,13 @@ public class NotificationService {
     }
     
     public long getUnreadCount() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         return notificationRepository.countUnreadNotificationsByUserId(userPrincipal.getId());
     }
     
     public void markAsRead(Long notificationId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + notificationId));
@@ -83,8 +78,7 @@ public class NotificationService {
     }
     
     public void markAllAsRead() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         List<Notification> unreadNotifications = notificationRepository.findUnreadNotificationsByUserId(userPrincipal.getId());
         unreadNotifications.forEach(notification -> notification.setIsRead(true));
@@ -92,8 +86,7 @@ public class NotificationService {
     }
     
     public void deleteNotification(Long notificationId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
         
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + notificationId));
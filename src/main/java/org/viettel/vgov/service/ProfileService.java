@@ -1,19 +1,17 @@
 package org.viettel.vgov.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.request.PasswordChangeRequestDto;
 import org.viettel.vgov.dto.request.ProfileUpdateRequestDto;
 import org.viettel.vgov.dto.response.UserResponseDto;
-import org.viettel.vgov.exception.ResourceNotFoundException;
 import org.viettel.vgov.mapper.UserMapper;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.UserRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.security.TokenVersions;
 
 @Service
 @Transactional
@@ -23,23 +21,18 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserProvider currentUserProvider;
+    private final TokenVersions tokenVersions;
+    private final RefreshTokenService refreshTokenService;
     
     public UserResponseDto getCurrentProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         return userMapper.toResponseDto(currentUser);
     }
     
     public UserResponseDto updateProfilePhoto(ProfileUpdateRequestDto requestDto) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         currentUser.setProfilePhotoUrl(requestDto.getProfilePhotoUrl());
         currentUser.setUpdatedBy(currentUser);
@@ -49,11 +42,7 @@ public class ProfileService {
     }
     
     public void removeProfilePhoto() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         currentUser.setProfilePhotoUrl(null);
         currentUser.setUpdatedBy(currentUser);
@@ -62,11 +51,7 @@ public class ProfileService {
     }
     
     public void changePassword(PasswordChangeRequestDto requestDto) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Validate current password
         if (!passwordEncoder.matches(requestDto.getCurrentPassword(), currentUser.getPasswordHash())) {
@@ -81,6 +66,9 @@ public class ProfileService {
         // Update password
         currentUser.setPasswordHash(passwordEncoder.encode(requestDto.getNewPassword()));
         currentUser.setUpdatedBy(currentUser);
+        // Every session, this one included, has to log in again with the new password
+        tokenVersions.bump(currentUser);
+        refreshTokenService.revokeAll(currentUser.getId());
         
         userRepository.save(currentUser);
     }
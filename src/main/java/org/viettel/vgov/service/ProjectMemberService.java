@@ -2,8 +2,6 @@ package org.viettel.vgov.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.request.ProjectMemberRequestDto;
@@ -18,7 +16,8 @@ import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.ProjectMemberRepository;
 import org.viettel.vgov.repository.ProjectRepository;
 import org.viettel.vgov.repository.UserRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.security.access.ProjectMembershipIndex;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -35,12 +34,11 @@ public class ProjectMemberService {
     private final UserRepository userRepository;
     private final ProjectMemberMapper projectMemberMapper;
     private final UserMapper userMapper;
+    private final CurrentUserProvider currentUserProvider;
+    private final ProjectMembershipIndex projectMembershipIndex;
     
     public List<ProjectMemberResponseDto> getProjectMembers(Long projectId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
@@ -71,9 +69,9 @@ public class ProjectMemberService {
         // For active projects, show only active members
         List<ProjectMember> members;
         if (project.getStatus() == Project.Status.Closed) {
-            members = projectMemberRepository.findByProjectId(projectId);
+            members = projectMemberRepository.findByProjectIdWithDetails(projectId);
         } else {
-            members = projectMemberRepository.findByProjectIdAndIsActive(projectId, true);
+            members = projectMemberRepository.findByProjectIdAndIsActiveWithDetails(projectId, true);
         }
         
         return members.stream()
@@ -108,10 +106,7 @@ public class ProjectMemberService {
             throw new org.viettel.vgov.exception.WorkloadExceededException("Total workload cannot exceed 100% for user: " + user.getFullName());
         }
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         ProjectMember projectMember = projectMemberMapper.toEntity(requestDto);
         projectMember.setProject(project);
@@ -123,6 +118,7 @@ public class ProjectMemberService {
         }
         
         ProjectMember savedMember = projectMemberRepository.save(projectMember);
+        projectMembershipIndex.evict(user.getId());
         
         // TODO: Send notification to all project members about new member
         
@@ -143,10 +139,7 @@ public class ProjectMemberService {
             throw new IllegalArgumentException("Total workload cannot exceed 100% for this user");
         }
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         projectMember.setWorkloadPercentage(requestDto.getWorkloadPercentage());
         projectMember.setUpdatedBy(currentUser);
@@ -159,16 +152,14 @@ public class ProjectMemberService {
         ProjectMember projectMember = projectMemberRepository.findByProjectIdAndUserIdAndIsActive(projectId, userId, true)
                 .orElseThrow(() -> new ResourceNotFoundException("Project member not found"));
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         projectMember.setIsActive(false);
         projectMember.setLeftDate(LocalDate.now());
         projectMember.setUpdatedBy(currentUser);
         
         projectMemberRepository.save(projectMember);
+        projectMembershipIndex.evict(userId);
         
         // TODO: Send notification to all project members about member removal
     }
@@ -4,8 +4,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.request.ProjectRequestDto;
@@ -16,8 +14,8 @@ import org.viettel.vgov.mapper.ProjectMapper;
 import org.viettel.vgov.model.Project;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.ProjectRepository;
-import org.viettel.vgov.repository.UserRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.util.TextNormalizer;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,14 +26,12 @@ import java.util.stream.Collectors;
 public class ProjectService {
     
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final TypeaheadService typeaheadService;
+    private final CurrentUserProvider currentUserProvider;
     
     public PagedResponse<ProjectResponseDto> getAllProjects(Pageable pageable) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         Page<Project> projects;
         
@@ -63,10 +59,7 @@ public class ProjectService {
     }
     
     public PagedResponse<ProjectResponseDto> getAllProjects(Pageable pageable, String search, String projectStatus, String projectType) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Convert string parameters to enums
         Project.Status statusEnum = null;
@@ -87,6 +80,9 @@ public class ProjectService {
             }
         }
         
+        // Search matches the folded search_text column, which is backed by a trigram index
+        search = TextNormalizer.searchTerm(search);
+        
         Page<Project> projects;
         
         switch (currentUser.getRole()) {
@@ -113,10 +109,7 @@ public class ProjectService {
     }
     
     public List<ProjectResponseDto> getAllProjects() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         List<Project> projects;
         
@@ -145,10 +138,7 @@ public class ProjectService {
     }
     
     public ProjectResponseDto getProjectById(Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
@@ -188,16 +178,14 @@ public class ProjectService {
             throw new IllegalArgumentException("End date must be after start date");
         }
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         Project project = projectMapper.toEntity(requestDto);
         project.setCreatedBy(currentUser);
         project.setUpdatedBy(currentUser);
         
         Project savedProject = projectRepository.save(project);
+        typeaheadService.projectSaved(savedProject);
         return projectMapper.toResponseDto(savedProject);
     }
     
@@ -216,10 +204,7 @@ public class ProjectService {
             throw new IllegalArgumentException("End date must be after start date");
         }
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Update project fields
         project.setProjectCode(requestDto.getProjectCode());
@@ -233,6 +218,7 @@ public class ProjectService {
         project.setUpdatedBy(currentUser);
         
         Project savedProject = projectRepository.save(project);
+        typeaheadService.projectSaved(savedProject);
         return projectMapper.toResponseDto(savedProject);
     }
     
@@ -241,21 +227,20 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
         
         projectRepository.delete(project);
+        typeaheadService.projectDeleted(id);
     }
     
     public ProjectResponseDto updateProjectStatus(Long id, Project.Status status) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         project.setStatus(status);
         project.setUpdatedBy(currentUser);
         
         Project savedProject = projectRepository.save(project);
+        typeaheadService.projectSaved(savedProject);
         
         // TODO: Send notification to all project members about status change
         
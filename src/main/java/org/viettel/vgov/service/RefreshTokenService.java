@@ -0,0 +1,132 @@
+package org.viettel.vgov.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.viettel.vgov.exception.InvalidTokenException;
+import org.viettel.vgov.model.RefreshToken;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.RefreshTokenRepository;
+import org.viettel.vgov.repository.TokenRevocationRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Only a SHA-256 hash of each token is stored, and
+ * every refresh replaces the presented token with a new one of the same family. A token
+ * presented after it was replaced means it was copied, so its whole family is revoked.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    
+    @Value("${spring.security.jwt.refresh-expiration:14d}")
+    private Duration refreshExpiration;
+    
+    public record Rotation(User user, String refreshToken) {
+    }
+    
+    /**
+     * Starts a new token family for a fresh login.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+    
+    /**
+     * Spends a refresh token and returns its replacement.
+     */
+    // Committed even when the token is refused, so revoking a reused token's family sticks
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(token))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reused for user {}, revoked {} token(s) of its family",
+                    current.getUser().getId(), revoked);
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (!Boolean.TRUE.equals(current.getUser().getIsActive())) {
+            throw new InvalidTokenException("User account is inactive");
+        }
+        
+        current.setRevokedAt(now);
+        String replacement = issue(current.getUser(), current.getFamilyId());
+        return new Rotation(current.getUser(), replacement);
+    }
+    
+    /**
+     * Ends the session the token belongs to, which must be one of the given user's; unknown
+     * tokens are ignored.
+     */
+    public void revoke(String token, Long userId) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(token)).ifPresent(current -> {
+            if (!current.getUser().getId().equals(userId)) {
+                log.warn("User {} tried to revoke a refresh token of user {}", userId, current.getUser().getId());
+                throw new InvalidTokenException("Refresh token does not belong to this user");
+            }
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+        });
+    }
+    
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+    
+    @Scheduled(cron = "${app.security.token-cleanup-cron:0 30 * * * *}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshTokens = refreshTokenRepository.deleteExpired(now);
+        int revocations = tokenRevocationRepository.deleteExpired(now);
+        if (refreshTokens > 0 || revocations > 0) {
+            log.info("Deleted {} expired refresh tokens and {} expired revocations", refreshTokens, revocations);
+        }
+    }
+    
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(refreshExpiration));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+    
+    // Tokens carry 256 random bits, so an unsalted fast hash is enough to make a leaked table useless
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.viettel.vgov.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.viettel.vgov.dto.response.ProjectSuggestionDto;
+import org.viettel.vgov.dto.response.UserSuggestionDto;
+import org.viettel.vgov.model.Project;
+import org.viettel.vgov.model.User;
+import org.viettel.vgov.repository.ProjectRepository;
+import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.util.PrefixIndex;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplete over active users and projects, served from memory. The index is
+ * built once the application is ready and updated by the user and project
+ * services after their transactions commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypeaheadService {
+    
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final CurrentUserProvider currentUserProvider;
+    
+    private final PrefixIndex<UserSuggestionDto> userIndex = new PrefixIndex<>();
+    private final PrefixIndex<ProjectSuggestionDto> projectIndex = new PrefixIndex<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        
+        userIndex.clear();
+        try (Stream<UserSuggestionDto> users = userRepository.streamActiveUserSuggestions()) {
+            users.forEach(this::indexUser);
+        }
+        
+        projectIndex.clear();
+        try (Stream<ProjectSuggestionDto> projects = projectRepository.streamProjectSuggestions()) {
+            projects.forEach(this::indexProject);
+        }
+        
+        log.info("Typeahead index built with {} users and {} projects in {} ms",
+                userIndex.size(), projectIndex.size(), System.currentTimeMillis() - start);
+    }
+    
+    public List<UserSuggestionDto> suggestUsers(String query, int limit) {
+        return userIndex.search(query, limit, user -> true);
+    }
+    
+    public List<ProjectSuggestionDto> suggestProjects(String query, int limit) {
+        UserPrincipal userPrincipal = currentUserProvider.getPrincipal();
+        // PMs only pick among the projects they manage
+        if (userPrincipal.getRole() == User.Role.pm) {
+            return projectIndex.search(query, limit, project -> userPrincipal.getEmail().equals(project.getPmEmail()));
+        }
+        return projectIndex.search(query, limit, project -> true);
+    }
+    
+    public void userSaved(User user) {
+        UserSuggestionDto suggestion = new UserSuggestionDto(
+                user.getId(), user.getEmployeeCode(), user.getFullName(), user.getEmail(), user.getRole());
+        boolean active = Boolean.TRUE.equals(user.getIsActive());
+        afterCommit(() -> {
+            if (active) {
+                indexUser(suggestion);
+            } else {
+                userIndex.remove(suggestion.getId());
+            }
+        });
+    }
+    
+    public void projectSaved(Project project) {
+        ProjectSuggestionDto suggestion = new ProjectSuggestionDto(
+                project.getId(), project.getProjectCode(), project.getProjectName(),
+                project.getPmEmail(), project.getStatus());
+        afterCommit(() -> indexProject(suggestion));
+    }
+    
+    public void projectDeleted(Long projectId) {
+        afterCommit(() -> projectIndex.remove(projectId));
+    }
+    
+    private void indexUser(UserSuggestionDto user) {
+        userIndex.put(user.getId(), user, user.getFullName(), user.getEmail(), user.getEmployeeCode());
+    }
+    
+    private void indexProject(ProjectSuggestionDto project) {
+        projectIndex.put(project.getId(), project, project.getProjectCode(), project.getProjectName());
+    }
+    
+    // A rolled back change must not show up in suggestions
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -3,8 +3,6 @@ package org.viettel.vgov.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,12 +13,15 @@ import org.viettel.vgov.mapper.UserMapper;
 import org.viettel.vgov.model.User;
 import org.viettel.vgov.repository.UserRepository;
 import org.viettel.vgov.repository.ProjectMemberRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.security.TokenVersions;
+import org.viettel.vgov.util.TextNormalizer;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +33,10 @@ public class UserService {
     private final ProjectMemberRepository projectMemberRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TypeaheadService typeaheadService;
+    private final CurrentUserProvider currentUserProvider;
+    private final TokenVersions tokenVersions;
+    private final RefreshTokenService refreshTokenService;
     
     public PagedResponse<UserResponseDto> getAllUsers(Pageable pageable) {
         Page<User> users = userRepository.findByIsActiveTrue(pageable);
@@ -49,7 +54,9 @@ public class UserService {
             }
         }
         
-        Page<User> users = userRepository.findUsersWithFilters(search, roleEnum, isActive, pageable);
+        // Search matches the folded search_text column, which is backed by a trigram index
+        Page<User> users = userRepository.findUsersWithFilters(
+                TextNormalizer.searchTerm(search), roleEnum, isActive, pageable);
         Page<UserResponseDto> userDtos = users.map(userMapper::toResponseDto);
         return PagedResponse.of(userDtos);
     }
@@ -82,10 +89,11 @@ public class UserService {
         user.setPasswordHash(passwordEncoder.encode(requestDto.getPassword()));
         
         // Set created by current user
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         user.setCreatedBy(currentUser);
         
         User savedUser = userRepository.save(user);
+        typeaheadService.userSaved(savedUser);
         return userMapper.toResponseDto(savedUser);
     }
     
@@ -105,18 +113,30 @@ public class UserService {
             throw new RuntimeException("Employee code is already in use!");
         }
         
+        User.Role previousRole = user.getRole();
+        String previousEmail = user.getEmail();
+        Boolean wasActive = user.getIsActive();
         userMapper.updateEntityFromDto(requestDto, user);
         
         // Update password if provided
-        if (requestDto.getPassword() != null && !requestDto.getPassword().isEmpty()) {
+        boolean passwordChanged = requestDto.getPassword() != null && !requestDto.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPasswordHash(passwordEncoder.encode(requestDto.getPassword()));
         }
         
+        if (passwordChanged || !Objects.equals(wasActive, user.getIsActive())) {
+            endSessions(user);
+        } else if (previousRole != user.getRole() || !previousEmail.equals(user.getEmail())) {
+            // The next refresh issues a token with the new role and email
+            tokenVersions.bump(user);
+        }
+        
         // Set updated by current user
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         user.setUpdatedBy(currentUser);
         
         User savedUser = userRepository.save(user);
+        typeaheadService.userSaved(savedUser);
         return userMapper.toResponseDto(savedUser);
     }
     
@@ -125,10 +145,12 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         
         user.setIsActive(false);
-        User currentUser = getCurrentUser();
+        endSessions(user);
+        User currentUser = currentUserProvider.getUser();
         user.setUpdatedBy(currentUser);
         
         userRepository.save(user);
+        typeaheadService.userSaved(user);
     }
     
     public UserResponseDto changeUserRole(Long id, User.Role newRole) {
@@ -140,11 +162,15 @@ public class UserService {
             throw new org.viettel.vgov.exception.InvalidRoleChangeException("Admin role cannot be changed");
         }
         
+        if (user.getRole() != newRole) {
+            tokenVersions.bump(user);
+        }
         user.setRole(newRole);
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         user.setUpdatedBy(currentUser);
         
         User savedUser = userRepository.save(user);
+        typeaheadService.userSaved(savedUser);
         return userMapper.toResponseDto(savedUser);
     }
     
@@ -152,11 +178,15 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         
+        if (!Objects.equals(user.getIsActive(), isActive)) {
+            endSessions(user);
+        }
         user.setIsActive(isActive);
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getUser();
         user.setUpdatedBy(currentUser);
         
         User savedUser = userRepository.save(user);
+        typeaheadService.userSaved(savedUser);
         return userMapper.toResponseDto(savedUser);
     }
     
@@ -208,6 +238,12 @@ public class UserService {
         return roleList;
     }
     
+    // Refuses the user's current access tokens and revokes their refresh tokens
+    private void endSessions(User user) {
+        tokenVersions.bump(user);
+        refreshTokenService.revokeAll(user.getId());
+    }
+    
     private String getRoleDescription(User.Role role) {
         switch (role) {
             case admin:
@@ -224,15 +260,4 @@ public class UserService {
                 return role.name();
         }
     }
-    
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("No authenticated user found");
-        }
-        
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return userRepository.findByEmail(userPrincipal.getEmail())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-    }
 }
@@ -1,13 +1,17 @@
 package org.viettel.vgov.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.viettel.vgov.dto.request.WorkLogRequestDto;
+import org.viettel.vgov.dto.response.PagedResponse;
 import org.viettel.vgov.dto.response.WorkLogResponseDto;
+import org.viettel.vgov.dto.response.WorkLogSearchResultDto;
 import org.viettel.vgov.exception.ResourceNotFoundException;
 import org.viettel.vgov.mapper.WorkLogMapper;
 import org.viettel.vgov.model.Project;
@@ -16,12 +20,18 @@ import org.viettel.vgov.model.WorkLog;
 import org.viettel.vgov.repository.ProjectRepository;
 import org.viettel.vgov.repository.UserRepository;
 import org.viettel.vgov.repository.WorkLogRepository;
-import org.viettel.vgov.security.UserPrincipal;
+import org.viettel.vgov.security.CurrentUserProvider;
+import org.viettel.vgov.util.SearchHighlighter;
+import org.viettel.vgov.util.TextNormalizer;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,46 +39,71 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WorkLogService {
     
+    private static final int SNIPPET_LENGTH = 200;
+    
     private final WorkLogRepository workLogRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final WorkLogMapper workLogMapper;
+    private final CurrentUserProvider currentUserProvider;
     
     public List<WorkLogResponseDto> getAllWorkLogs() {
-        return getAllWorkLogs(null, null, null, null, null, null, null, null, "workDate", "desc");
+        return getAllWorkLogs(null, null, null, null, null, null, null, null, "workDate", "desc", 0, 100);
     }
     
+    /**
+     * Work logs visible to the current user. With a search term, matching, filtering, sorting
+     * and paging all run in the database and only the requested page is loaded; without one,
+     * {@code page} and {@code size} are ignored.
+     */
     public List<WorkLogResponseDto> getAllWorkLogs(String search, Long projectId, Long userId,
             String workDateFrom, String workDateTo, Double minHours, Double maxHours,
-            String taskFeature, String sortBy, String sortDir) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            String taskFeature, String sortBy, String sortDir, int page, int size) {
+        User currentUser = currentUserProvider.getUser();
         
         List<WorkLog> workLogs;
         
-        switch (currentUser.getRole()) {
-            case admin:
-                // Admin can see all work logs
-                workLogs = workLogRepository.findAll();
-                break;
-            case pm:
-                // PM can see work logs for projects they manage
-                workLogs = workLogRepository.findWorkLogsByPmEmail(currentUser.getEmail());
-                break;
-            case dev:
-            case ba:
-            case test:
-                // Employee can see only their own work logs
-                workLogs = workLogRepository.findByUserId(currentUser.getId());
-                break;
-            default:
-                throw new AccessDeniedException("Access denied");
+        if (search != null && !search.trim().isEmpty()) {
+            // Text matching runs in the database against the trigram index, within the caller's scope
+            WorkLogRepository.Scope scope = WorkLogRepository.Scope.of(currentUser);
+            List<Long> ids = workLogRepository.searchIds(
+                    TextNormalizer.escapeLike(search.trim()), scope.userId(), scope.pmEmail(),
+                    projectId, userId, parseDate(workDateFrom), parseDate(workDateTo),
+                    minHours != null ? BigDecimal.valueOf(minHours) : null,
+                    maxHours != null ? BigDecimal.valueOf(maxHours) : null,
+                    taskFeature != null && !taskFeature.trim().isEmpty() ? TextNormalizer.escapeLike(taskFeature) : null,
+                    PageRequest.of(page, size, searchSort(sortBy, sortDir)));
+            
+            // Load the page's work logs with user and project in one query, then keep the sorted order
+            Map<Long, WorkLog> workLogsById = workLogRepository.findByIdInWithDetails(ids).stream()
+                    .collect(Collectors.toMap(WorkLog::getId, Function.identity()));
+            return ids.stream()
+                    .filter(workLogsById::containsKey)
+                    .map(id -> workLogMapper.toResponseDto(workLogsById.get(id)))
+                    .collect(Collectors.toList());
+        } else {
+            switch (currentUser.getRole()) {
+                case admin:
+                    // Admin can see all work logs
+                    workLogs = workLogRepository.findAllWithDetails();
+                    break;
+                case pm:
+                    // PM can see work logs for projects they manage
+                    workLogs = workLogRepository.findByPmEmailWithDetails(currentUser.getEmail());
+                    break;
+                case dev:
+                case ba:
+                case test:
+                    // Employee can see only their own work logs
+                    workLogs = workLogRepository.findByUserIdWithDetails(currentUser.getId());
+                    break;
+                default:
+                    throw new AccessDeniedException("Access denied");
+            }
         }
         
         // Apply filters
-        workLogs = applyFilters(workLogs, search, projectId, userId, workDateFrom, workDateTo,
+        workLogs = applyFilters(workLogs, projectId, userId, workDateFrom, workDateTo,
                                minHours, maxHours, taskFeature);
         
         // Apply sorting
@@ -79,23 +114,81 @@ public class WorkLogService {
                 .collect(Collectors.toList());
     }
     
-    private List<WorkLog> applyFilters(List<WorkLog> workLogs, String search, Long projectId, Long userId,
-                                      String workDateFrom, String workDateTo, Double minHours, Double maxHours,
-                                      String taskFeature) {
+    public PagedResponse<WorkLogSearchResultDto> searchWorkLogs(String query, int page, int size) {
+        User currentUser = currentUserProvider.getUser();
+        
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        String trimmedQuery = query.trim();
+        
+        WorkLogRepository.Scope scope = WorkLogRepository.Scope.of(currentUser);
+        Page<WorkLogRepository.SearchHit> hits = workLogRepository.searchRanked(
+                trimmedQuery, TextNormalizer.escapeLike(trimmedQuery), scope.userId(), scope.pmEmail(),
+                PageRequest.of(page, size));
+        
+        // Load the page's work logs with user and project in one query, then keep the ranked order
+        Map<Long, WorkLog> workLogsById = workLogRepository.findByIdInWithDetails(
+                        hits.getContent().stream().map(WorkLogRepository.SearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(WorkLog::getId, Function.identity()));
+        
+        List<WorkLogSearchResultDto> results = hits.getContent().stream()
+                .filter(hit -> workLogsById.containsKey(hit.getId()))
+                .map(hit -> {
+                    WorkLog workLog = workLogsById.get(hit.getId());
+                    return new WorkLogSearchResultDto(
+                            workLogMapper.toResponseDto(workLog),
+                            hit.getRank(),
+                            SearchHighlighter.highlight(workLog.getTaskFeature(), trimmedQuery),
+                            SearchHighlighter.snippet(workLog.getWorkDescription(), trimmedQuery, SNIPPET_LENGTH));
+                })
+                .collect(Collectors.toList());
+        
+        return PagedResponse.of(results, page + 1, size, hits.getTotalElements());
+    }
+    
+    // The columns applySorting compares, with the id as a tie-breaker so pages do not overlap.
+    // Spring Data qualifies unprefixed columns with the query's wl alias itself.
+    private static Sort searchSort(String sortBy, String sortDir) {
+        String column = switch (sortBy == null ? "" : sortBy.toLowerCase()) {
+            case "hours" -> "hours_worked";
+            case "project" -> "p.project_name";
+            case "user" -> "u.full_name";
+            case "task" -> "task_feature";
+            default -> "work_date";
+        };
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return JpaSort.unsafe(direction, column, "id");
+    }
+    
+    // Null for a missing or malformed date, which leaves that bound out as applyFilters does
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    // Loads the user's projects once rather than once per PM project
+    private boolean sharesProjectWithPm(Long userId, String pmEmail) {
+        Set<Long> userProjectIds = projectRepository.findProjectsByUserId(userId).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        return projectRepository.findByPmEmail(pmEmail).stream()
+                .anyMatch(project -> userProjectIds.contains(project.getId()));
+    }
+    
+    // Package-private so WorkLogServiceBenchmark can measure it without a database
+    List<WorkLog> applyFilters(List<WorkLog> workLogs, Long projectId, Long userId,
+                               String workDateFrom, String workDateTo, Double minHours, Double maxHours,
+                               String taskFeature) {
         return workLogs.stream()
                 .filter(workLog -> {
-                    // Search filter (search in task feature and work description)
-                    if (search != null && !search.trim().isEmpty()) {
-                        String searchLower = search.toLowerCase();
-                        boolean matchesTask = workLog.getTaskFeature() != null &&
-                                            workLog.getTaskFeature().toLowerCase().contains(searchLower);
-                        boolean matchesDescription = workLog.getWorkDescription() != null &&
-                                             workLog.getWorkDescription().toLowerCase().contains(searchLower);
-                        if (!matchesTask && !matchesDescription) {
-                            return false;
-                        }
-                    }
-                    
                     // Project filter
                     if (projectId != null && !projectId.equals(workLog.getProject().getId())) {
                         return false;
@@ -153,7 +246,7 @@ public class WorkLogService {
                 .collect(Collectors.toList());
     }
     
-    private List<WorkLog> applySorting(List<WorkLog> workLogs, String sortBy, String sortDir) {
+    List<WorkLog> applySorting(List<WorkLog> workLogs, String sortBy, String sortDir) {
         if (sortBy == null || sortBy.trim().isEmpty()) {
             sortBy = "workDate";
         }
@@ -195,10 +288,7 @@ public class WorkLogService {
     }
     
     public List<WorkLogResponseDto> getWorkLogsByUserId(Long userId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         User targetUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -211,11 +301,7 @@ public class WorkLogService {
                 break;
             case pm:
                 // PM can view work logs for users in their projects
-                List<Project> pmProjects = projectRepository.findByPmEmail(currentUser.getEmail());
-                hasAccess = pmProjects.stream()
-                        .anyMatch(project -> projectRepository.findProjectsByUserId(userId)
-                                .stream()
-                                .anyMatch(userProject -> userProject.getId().equals(project.getId())));
+                hasAccess = sharesProjectWithPm(userId, currentUser.getEmail());
                 break;
             case dev:
             case ba:
@@ -236,10 +322,7 @@ public class WorkLogService {
     }
     
     public List<WorkLogResponseDto> getWorkLogsByProjectId(Long projectId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
@@ -273,10 +356,7 @@ public class WorkLogService {
     }
     
     public WorkLogResponseDto createWorkLog(WorkLogRequestDto requestDto) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Admin cannot create work logs
         if (currentUser.getRole() == User.Role.admin) {
@@ -354,10 +434,7 @@ public class WorkLogService {
         WorkLog workLog = workLogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Work log not found with id: " + id));
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Admin cannot update work logs
         if (currentUser.getRole() == User.Role.admin) {
@@ -415,10 +492,7 @@ public class WorkLogService {
         WorkLog workLog = workLogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Work log not found with id: " + id));
         
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User currentUser = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User currentUser = currentUserProvider.getUser();
         
         // Admin cannot delete work logs
         if (currentUser.getRole() == User.Role.admin) {
@@ -444,28 +518,4 @@ public class WorkLogService {
         
         workLogRepository.delete(workLog);
     }
-    
-    public boolean canAccessUserWorkLogs(Long userId, String currentUserEmail) {
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        switch (currentUser.getRole()) {
-            case admin:
-                return true;
-            case pm:
-                // PM can view work logs for users in their projects
-                List<Project> pmProjects = projectRepository.findByPmEmail(currentUser.getEmail());
-                return pmProjects.stream()
-                        .anyMatch(project -> projectRepository.findProjectsByUserId(userId)
-                                .stream()
-                                .anyMatch(userProject -> userProject.getId().equals(project.getId())));
-            case dev:
-            case ba:
-            case test:
-                // Employee can only see their own work logs
-                return currentUser.getId().equals(userId);
-            default:
-                return false;
-        }
-    }
 }
@@ -0,0 +1,226 @@
+package org.viettel.vgov.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.viettel.vgov.model.StoredFile;
+import org.viettel.vgov.repository.FileBlobRepository;
+import org.viettel.vgov.repository.StoredFileRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Content-addressed layer over another storage backend. Content is stored once
+ * under its SHA-256 hash and logical filenames map onto these blobs, which are
+ * reference counted and removed when the last name pointing at them is deleted.
+ * Names that have no mapping (files stored before deduplication was enabled)
+ * are passed through to the backend unchanged.
+ */
+@Slf4j
+public class DeduplicatingFileStorage implements FileStorage {
+
+    private static final String BLOB_PREFIX = "blobs/";
+    private static final String TEMP_PREFIX = "tmp/";
+
+    private final FileStorage delegate;
+    private final StoredFileRepository storedFileRepository;
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate cleanupTemplate;
+
+    public DeduplicatingFileStorage(FileStorage delegate, StoredFileRepository storedFileRepository,
+                                    FileBlobRepository fileBlobRepository, TransactionTemplate transactionTemplate) {
+        this.delegate = delegate;
+        this.storedFileRepository = storedFileRepository;
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Runs from afterCommit, where the finished transaction's resources are still bound
+        this.cleanupTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.cleanupTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void store(String filename, InputStream content, long size, String contentType) throws IOException {
+        // The hash is only known once the stream has been consumed, so write to a temporary name first
+        String tempName = TEMP_PREFIX + UUID.randomUUID();
+        MessageDigest digest = sha256();
+        delegate.store(tempName, new DigestInputStream(content, digest), size, contentType);
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        try {
+            inTransaction(() -> {
+                // Held until commit, so a concurrent upload or cleanup of the same content waits
+                // until the blob object is in place
+                fileBlobRepository.lockHash(hash);
+                boolean created = fileBlobRepository.addReference(hash, size, contentType);
+                if (created) {
+                    delegate.move(tempName, blobName(hash));
+                } else {
+                    log.debug("Deduplicated {} onto existing blob {}", filename, hash);
+                }
+
+                Optional<StoredFile> existing = storedFileRepository.findById(filename);
+                if (existing.isPresent()) {
+                    String previousHash = existing.get().getBlob().getHash();
+                    existing.get().setBlob(fileBlobRepository.getReferenceById(hash));
+                    releaseBlob(previousHash);
+                } else {
+                    storedFileRepository.save(new StoredFile(filename, fileBlobRepository.getReferenceById(hash), null));
+                }
+                return null;
+            });
+        } finally {
+            // Left behind when the content already existed or the transaction failed
+            delegate.delete(tempName);
+        }
+    }
+
+    @Override
+    public Resource load(String filename) throws IOException {
+        return delegate.load(physicalName(filename));
+    }
+
+    @Override
+    public boolean exists(String filename) throws IOException {
+        if (storedFileRepository.existsById(filename)) {
+            return true;
+        }
+        return delegate.exists(filename);
+    }
+
+    @Override
+    public boolean delete(String filename) throws IOException {
+        Boolean deleted = inTransaction(() -> {
+            Optional<StoredFile> storedFile = storedFileRepository.findById(filename);
+            if (storedFile.isEmpty()) {
+                return null;
+            }
+            String hash = storedFile.get().getBlob().getHash();
+            storedFileRepository.delete(storedFile.get());
+            releaseBlob(hash);
+            return true;
+        });
+        return deleted != null ? deleted : delegate.delete(filename);
+    }
+
+    @Override
+    public void move(String source, String target) throws IOException {
+        Boolean moved = inTransaction(() -> {
+            Optional<StoredFile> storedFile = storedFileRepository.findById(source);
+            if (storedFile.isEmpty()) {
+                return null;
+            }
+            storedFileRepository.delete(storedFile.get());
+            storedFileRepository.flush();
+            storedFileRepository.save(new StoredFile(target, storedFile.get().getBlob(), null));
+            return true;
+        });
+        if (moved == null) {
+            delegate.move(source, target);
+        }
+    }
+
+    @Override
+    public Optional<String> directUrl(String filename) throws IOException {
+        // Names sharing a blob also share its presigned URL
+        return delegate.directUrl(physicalName(filename));
+    }
+
+    @Override
+    public Optional<Path> localPath(String filename) {
+        return delegate.localPath(physicalName(filename));
+    }
+
+    @Override
+    public Optional<String> contentHash(String filename) {
+        return storedFileRepository.findBlobHashByFilename(filename);
+    }
+
+    private String physicalName(String filename) {
+        return storedFileRepository.findBlobHashByFilename(filename)
+                .map(this::blobName)
+                .orElse(filename);
+    }
+
+    // Must run inside a transaction. The object is only removed after commit, so a rollback
+    // never leaves a blob row pointing at missing content.
+    private void releaseBlob(String hash) {
+        Optional<Integer> remaining = fileBlobRepository.releaseReference(hash);
+        if (remaining.isEmpty()) {
+            log.warn("Released a reference to unknown blob {}", hash);
+            return;
+        }
+        if (remaining.get() <= 0) {
+            fileBlobRepository.deleteIfUnreferenced(hash);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeBlobObject(hash);
+                }
+            });
+        }
+    }
+
+    private void removeBlobObject(String hash) {
+        try {
+            cleanupTemplate.executeWithoutResult(status -> {
+                // The same content may have been uploaded again since the row was deleted
+                fileBlobRepository.lockHash(hash);
+                if (fileBlobRepository.existsById(hash)) {
+                    return;
+                }
+                try {
+                    delegate.delete(blobName(hash));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                log.debug("Removed unreferenced blob {}", hash);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove unreferenced blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private String blobName(String hash) {
+        return BLOB_PREFIX + hash;
+    }
+
+    private <T> T inTransaction(StorageCallback<T> callback) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    return callback.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StorageCallback<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+package org.viettel.vgov.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Backend-neutral storage for uploaded files. Implementations must stream the
+ * content straight to the backing store without buffering the whole file.
+ */
+public interface FileStorage {
+
+    void store(String filename, InputStream content, long size, String contentType) throws IOException;
+
+    Resource load(String filename) throws IOException;
+
+    boolean exists(String filename) throws IOException;
+
+    boolean delete(String filename) throws IOException;
+
+    void move(String source, String target) throws IOException;
+
+    /**
+     * A URL clients can fetch the file from without going through the application,
+     * or empty when the backend cannot serve files directly.
+     */
+    default Optional<String> directUrl(String filename) throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * The file's location on local disk, or empty when the backend is not file based.
+     */
+    default Optional<Path> localPath(String filename) {
+        return Optional.empty();
+    }
+
+    /**
+     * Hex SHA-256 of the content when the backend tracks it.
+     */
+    default Optional<String> contentHash(String filename) throws IOException {
+        return Optional.empty();
+    }
+}
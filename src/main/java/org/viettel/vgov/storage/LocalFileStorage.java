@@ -0,0 +1,75 @@
+package org.viettel.vgov.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.viettel.vgov.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+@Slf4j
+public class LocalFileStorage implements FileStorage {
+
+    private final Path root;
+
+    public LocalFileStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void store(String filename, InputStream content, long size, String contentType) throws IOException {
+        Path filePath = resolve(filename);
+        Files.createDirectories(filePath.getParent());
+        Files.copy(content, filePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public Resource load(String filename) {
+        Path filePath = resolve(filename);
+        if (!Files.isReadable(filePath)) {
+            throw new ResourceNotFoundException("File not found: " + filename);
+        }
+        return new FileSystemResource(filePath);
+    }
+
+    @Override
+    public boolean exists(String filename) {
+        return Files.exists(resolve(filename));
+    }
+
+    @Override
+    public boolean delete(String filename) throws IOException {
+        return Files.deleteIfExists(resolve(filename));
+    }
+
+    @Override
+    public void move(String source, String target) throws IOException {
+        Path targetPath = resolve(target);
+        Files.createDirectories(targetPath.getParent());
+        try {
+            Files.move(resolve(source), targetPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(resolve(source), targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String filename) {
+        return Optional.of(resolve(filename));
+    }
+
+    private Path resolve(String filename) {
+        Path filePath = root.resolve(filename).normalize();
+        // Reject names such as "../application.yml" that escape the upload directory
+        if (!filePath.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid filename: " + filename);
+        }
+        return filePath;
+    }
+}
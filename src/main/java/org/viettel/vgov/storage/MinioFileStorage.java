@@ -0,0 +1,185 @@
+package org.viettel.vgov.storage;
+
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteArgs;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.MinioException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.viettel.vgov.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+
+@Slf4j
+public class MinioFileStorage implements FileStorage {
+
+    private final MinioClient minioClient;
+    private final String bucketName;
+    private final long partSize;
+    private final PresignedUrlCache presignedUrls;
+
+    public MinioFileStorage(MinioClient minioClient, String bucketName, long partSize) {
+        this(minioClient, bucketName, partSize, null);
+    }
+
+    public MinioFileStorage(MinioClient minioClient, String bucketName, long partSize,
+                            PresignedUrlCache presignedUrls) {
+        this.minioClient = minioClient;
+        this.bucketName = bucketName;
+        // S3 rejects multipart parts smaller than 5MB (except the last one)
+        this.partSize = Math.max(partSize, ObjectWriteArgs.MIN_MULTIPART_SIZE);
+        this.presignedUrls = presignedUrls;
+    }
+
+    public void ensureBucket() {
+        try {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                log.info("Created MinIO bucket: {}", bucketName);
+            }
+        } catch (MinioException | GeneralSecurityException | IOException e) {
+            log.warn("Could not verify MinIO bucket {}: {}", bucketName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void store(String filename, InputStream content, long size, String contentType) throws IOException {
+        try {
+            // The client reads at most one part into memory at a time and uploads the
+            // rest as a multipart upload, so large files never sit fully in the heap
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(filename)
+                    .stream(content, size, partSize)
+                    .contentType(contentType)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to store object " + filename + " in MinIO", e);
+        }
+    }
+
+    @Override
+    public Resource load(String filename) throws IOException {
+        try {
+            GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(filename)
+                    .build());
+            return new ObjectResource(response, filename);
+        } catch (ErrorResponseException e) {
+            if (isNotFound(e)) {
+                throw new ResourceNotFoundException("File not found: " + filename);
+            }
+            throw new IOException("Failed to load object " + filename + " from MinIO", e);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to load object " + filename + " from MinIO", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String filename) throws IOException {
+        try {
+            minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(filename).build());
+            return true;
+        } catch (ErrorResponseException e) {
+            if (isNotFound(e)) {
+                return false;
+            }
+            throw new IOException("Failed to stat object " + filename + " in MinIO", e);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to stat object " + filename + " in MinIO", e);
+        }
+    }
+
+    @Override
+    public boolean delete(String filename) throws IOException {
+        // removeObject is idempotent and does not report whether the object existed
+        if (presignedUrls != null) {
+            presignedUrls.invalidate(filename);
+        }
+        if (!exists(filename)) {
+            return false;
+        }
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(filename).build());
+            return true;
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to delete object " + filename + " from MinIO", e);
+        }
+    }
+
+    @Override
+    public void move(String source, String target) throws IOException {
+        try {
+            // S3 has no rename; copy server side and drop the source
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(target)
+                    .source(CopySource.builder().bucket(bucketName).object(source).build())
+                    .build());
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(source).build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to move object " + source + " to " + target + " in MinIO", e);
+        }
+        if (presignedUrls != null) {
+            presignedUrls.invalidate(source);
+        }
+    }
+
+    @Override
+    public Optional<String> directUrl(String filename) throws IOException {
+        if (presignedUrls == null) {
+            return Optional.empty();
+        }
+        Optional<String> cached = presignedUrls.cached(filename);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        // Presigning never touches the server, so check the object once before handing out a URL
+        if (!exists(filename)) {
+            throw new ResourceNotFoundException("File not found: " + filename);
+        }
+        return Optional.of(presignedUrls.issue(filename));
+    }
+
+    private boolean isNotFound(ErrorResponseException e) {
+        String code = e.errorResponse().code();
+        return "NoSuchKey".equals(code) || "NoSuchObject".equals(code);
+    }
+
+    private static class ObjectResource extends InputStreamResource {
+
+        private final long contentLength;
+        private final String filename;
+
+        ObjectResource(GetObjectResponse response, String filename) {
+            super(response);
+            String length = response.headers().get("Content-Length");
+            this.contentLength = length != null ? Long.parseLong(length) : -1;
+            this.filename = filename;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+    }
+}
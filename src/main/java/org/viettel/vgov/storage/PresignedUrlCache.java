@@ -0,0 +1,89 @@
+package org.viettel.vgov.storage;
+
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.errors.MinioException;
+import io.minio.http.Method;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues presigned GET URLs for MinIO objects and reuses each one until shortly
+ * before it expires, so repeated downloads of the same object cost a map lookup.
+ */
+@Slf4j
+public class PresignedUrlCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final MinioClient signer;
+    private final String bucketName;
+    private final Duration expiry;
+    private final Duration refreshBefore;
+    private final Map<String, CachedUrl> urls = new ConcurrentHashMap<>();
+
+    public PresignedUrlCache(MinioClient signer, String bucketName, Duration expiry, Duration refreshBefore) {
+        if (refreshBefore.compareTo(expiry) >= 0) {
+            throw new IllegalArgumentException("Presigned URL refresh margin must be shorter than its expiry");
+        }
+        this.signer = signer;
+        this.bucketName = bucketName;
+        this.expiry = expiry;
+        this.refreshBefore = refreshBefore;
+    }
+
+    public Optional<String> cached(String filename) {
+        CachedUrl cached = urls.get(filename);
+        if (cached != null && Instant.now().isBefore(cached.refreshAt())) {
+            return Optional.of(cached.url());
+        }
+        return Optional.empty();
+    }
+
+    public String issue(String filename) throws IOException {
+        Instant now = Instant.now();
+        String url = presign(filename);
+        if (urls.size() >= MAX_ENTRIES) {
+            evictExpired(now);
+        }
+        urls.put(filename, new CachedUrl(url, now.plus(expiry).minus(refreshBefore)));
+        return url;
+    }
+
+    public void invalidate(String filename) {
+        urls.remove(filename);
+    }
+
+    private String presign(String filename) throws IOException {
+        try {
+            return signer.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(bucketName)
+                    .object(filename)
+                    .expiry((int) expiry.toSeconds())
+                    .extraQueryParams(Map.of("response-content-disposition",
+                            "attachment; filename=\"" + filename + "\""))
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException("Failed to presign object " + filename, e);
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        urls.values().removeIf(cached -> !now.isBefore(cached.refreshAt()));
+        if (urls.size() >= MAX_ENTRIES) {
+            log.debug("Presigned URL cache full, clearing {} entries", urls.size());
+            urls.clear();
+        }
+    }
+
+    private record CachedUrl(String url, Instant refreshAt) {
+    }
+}
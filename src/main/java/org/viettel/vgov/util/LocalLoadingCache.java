@@ -0,0 +1,101 @@
+package org.viettel.vgov.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Node-local cache of values loaded from the database on a miss, bounded in entries and
+ * time. Writers call {@link #invalidate} for the keys they change. Each key carries a count
+ * of its invalidations, and a load only stores its value if that count has not moved since
+ * it started, so a value read before a change committed cannot replace the invalidation.
+ * Changes made on other nodes are seen once the entry expires.
+ */
+public class LocalLoadingCache<K, V> {
+
+    private final Cache<K, Entry> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    // A null value marks a key invalidated since it was last loaded
+    private record Entry(long generation, Object value) {
+    }
+
+    /**
+     * Creates the cache in {@code cacheManager} and counts lookups in {@code metricName},
+     * tagged {@code result=hit} or {@code miss}.
+     */
+    public LocalLoadingCache(CacheManager cacheManager, String name, Class<K> keyType, Duration ttl, long maxEntries,
+                             MeterRegistry meterRegistry, String metricName, String description) {
+        this.cache = cacheManager.createCache(name, CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(keyType, Entry.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl)));
+        this.hits = lookups(meterRegistry, metricName, description, "hit");
+        this.misses = lookups(meterRegistry, metricName, description, "miss");
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<K, V> loader) {
+        Entry entry = cache.get(key);
+        if (entry != null && entry.value() != null) {
+            hits.increment();
+            return (V) entry.value();
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        Entry loaded = new Entry(entry != null ? entry.generation() : 0, value);
+        // Left alone if an invalidation or another load got there first
+        if (entry == null) {
+            cache.putIfAbsent(key, loaded);
+        } else {
+            cache.replace(key, entry, loaded);
+        }
+        return value;
+    }
+
+    /**
+     * Forgets the key's value once the current transaction commits, or at once outside a
+     * transaction; loads already running for the key will not store what they read.
+     */
+    public void invalidate(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markInvalidated(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markInvalidated(key);
+            }
+        });
+    }
+
+    private void markInvalidated(K key) {
+        while (true) {
+            Entry entry = cache.get(key);
+            if (entry == null) {
+                if (cache.putIfAbsent(key, new Entry(1, null)) == null) {
+                    return;
+                }
+            } else if (cache.replace(key, entry, new Entry(entry.generation() + 1, null))) {
+                return;
+            }
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String metricName, String description, String result) {
+        return Counter.builder(metricName)
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,146 @@
+package org.viettel.vgov.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory token prefix index for typeahead lookups. Field values are folded
+ * with {@link TextNormalizer} and split into tokens; a query matches an item
+ * when every query token is a prefix of one of the item's tokens. Reads are
+ * lock-free, writes are serialized by a lock rather than a monitor so that
+ * virtual threads waiting on it do not pin their carrier thread.
+ */
+public class PrefixIndex<T> {
+
+    private final ConcurrentSkipListMap<String, Set<Long>> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public void put(Long id, T item, String... fields) {
+        writeLock.lock();
+        try {
+            remove(id);
+            Set<String> tokens = tokenize(fields);
+            entries.put(id, new Entry<>(item, tokens));
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            Entry<T> entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String token : entry.tokens()) {
+                terms.computeIfPresent(token, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            terms.clear();
+            entries.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<T> search(String query, int limit, Predicate<T> filter) {
+        List<String> queryTokens = split(TextNormalizer.fold(query == null ? "" : query));
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Walk the range of the longest (most selective) token and verify the others per item
+        String lead = Collections.max(queryTokens, Comparator.comparingInt(String::length));
+        Set<Long> seen = new HashSet<>();
+        List<T> results = new ArrayList<>(limit);
+        for (Set<Long> ids : terms.subMap(lead, true, lead + Character.MAX_VALUE, true).values()) {
+            for (Long id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Entry<T> entry = entries.get(id);
+                if (entry != null && matchesAll(entry.tokens(), queryTokens) && filter.test(entry.item())) {
+                    results.add(entry.item());
+                    if (results.size() >= limit) {
+                        return results;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean matchesAll(Set<String> tokens, List<String> queryTokens) {
+        for (String queryToken : queryTokens) {
+            boolean matched = false;
+            for (String token : tokens) {
+                if (token.startsWith(queryToken)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> tokenize(String... fields) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String folded = TextNormalizer.fold(field.trim());
+            // Keep the whole value too, so "pm1@vgov" or "prj-00" still match as a prefix
+            if (!folded.isEmpty()) {
+                tokens.add(folded);
+            }
+            tokens.addAll(split(folded));
+        }
+        return tokens;
+    }
+
+    private List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Entry<T>(T item, Set<String> tokens) {
+    }
+}
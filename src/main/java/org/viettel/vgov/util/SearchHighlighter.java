@@ -0,0 +1,54 @@
+package org.viettel.vgov.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Marks accent- and case-insensitive occurrences of a search query in text.
+ * Output is HTML-escaped with matches wrapped in {@code <mark>} tags.
+ */
+public final class SearchHighlighter {
+
+    private static final String ELLIPSIS = "…";
+
+    private SearchHighlighter() {
+    }
+
+    public static String highlight(String text, String query) {
+        if (text == null) {
+            return null;
+        }
+        String foldedQuery = TextNormalizer.fold(query.trim());
+        if (foldedQuery.isEmpty()) {
+            return HtmlUtils.htmlEscape(text, "UTF-8");
+        }
+
+        String foldedText = TextNormalizer.fold(text);
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int position = 0;
+        int match = foldedText.indexOf(foldedQuery);
+        while (match >= 0) {
+            int end = match + foldedQuery.length();
+            result.append(HtmlUtils.htmlEscape(text.substring(position, match), "UTF-8"))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(text.substring(match, end), "UTF-8"))
+                    .append("</mark>");
+            position = end;
+            match = foldedText.indexOf(foldedQuery, end);
+        }
+        result.append(HtmlUtils.htmlEscape(text.substring(position), "UTF-8"));
+        return result.toString();
+    }
+
+    // Highlights a window of at most maxLength characters around the first match
+    public static String snippet(String text, String query, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return highlight(text, query);
+        }
+        int match = Math.max(0, TextNormalizer.fold(text).indexOf(TextNormalizer.fold(query.trim())));
+        int start = Math.max(0, Math.min(match - maxLength / 3, text.length() - maxLength));
+        int end = Math.min(text.length(), start + maxLength);
+        return (start > 0 ? ELLIPSIS : "")
+                + highlight(text.substring(start, end), query)
+                + (end < text.length() ? ELLIPSIS : "");
+    }
+}
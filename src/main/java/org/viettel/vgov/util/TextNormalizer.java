@@ -0,0 +1,58 @@
+package org.viettel.vgov.util;
+
+import java.text.Normalizer;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Accent and case folding for search, matching the vgov_unaccent() database
+ * function closely enough to locate matches in the original text. Folding is
+ * done per character, so a folded string keeps the offsets of the original.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            folded.append(fold(text.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    public static char fold(char c) {
+        if (c < 0x80) {
+            return Character.toLowerCase(c);
+        }
+        // NFD does not decompose the Vietnamese stroked d
+        if (c == 'đ' || c == 'Đ') {
+            return 'd';
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return Character.toLowerCase(decomposed.charAt(0));
+    }
+
+    // Folded, space-separated concatenation of the non-null fields, for search columns
+    public static String searchText(String... fields) {
+        return fold(Stream.of(fields).filter(Objects::nonNull).collect(Collectors.joining(" ")));
+    }
+
+    // Folded and LIKE-escaped search input, or null when blank
+    public static String searchTerm(String search) {
+        if (search == null || search.trim().isEmpty()) {
+            return null;
+        }
+        return escapeLike(fold(search.trim()));
+    }
+
+    // Escapes LIKE wildcards so user input is matched literally (PostgreSQL's default escape is '\')
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
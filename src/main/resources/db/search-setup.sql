@@ -0,0 +1,25 @@
+-- Text search support, run by the application at startup (spring.sql.init)
+-- Statements must be idempotent and may not contain semicolons inside bodies
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() is only STABLE, so wrap it with an explicit dictionary to allow its use in indexes
+CREATE OR REPLACE FUNCTION vgov_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT lower(public.unaccent(''public.unaccent''::regdictionary, $1))';
+
+-- Work log search document: task feature and description, accent and case folded.
+-- The trigram index serves substring (LIKE '%...%') matching
+CREATE INDEX IF NOT EXISTS idx_work_logs_search_trgm ON work_logs
+    USING gin (vgov_unaccent(coalesce(task_feature, '') || ' ' || coalesce(work_description, '')) gin_trgm_ops);
+
+-- User and project search columns are maintained by the entities (see TextNormalizer).
+-- Fill them for rows written outside the application
+UPDATE users SET search_text = vgov_unaccent(concat_ws(' ', full_name, email, employee_code))
+    WHERE search_text IS NULL;
+UPDATE projects SET search_text = vgov_unaccent(concat_ws(' ', project_name, project_code, description))
+    WHERE search_text IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm ON users USING gin (search_text gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_projects_search_trgm ON projects USING gin (search_text gin_trgm_ops);
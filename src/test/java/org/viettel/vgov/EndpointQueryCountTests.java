@@ -0,0 +1,182 @@
+package org.viettel.vgov;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.security.JwtUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the read endpoints as each role against a generated dataset and fails when one
+ * issues more SQL statements or loads more entities than its budget, so a per-row query
+ * slipping back into a service breaks the build. Caches are evicted before every call to
+ * measure the cold path.
+ * <p>
+ * Runs on a throwaway PostgreSQL container, since the schema is recreated and bulk-loaded.
+ * Skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "app.synthetic-data.users=150",
+        "app.synthetic-data.projects=25",
+        "app.synthetic-data.years=1",
+        "app.synthetic-data.notifications-per-user=15",
+        "app.synthetic-data.seed=7"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("synthetic-data")
+@Testcontainers(disabledWithoutDocker = true)
+class EndpointQueryCountTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // The PM account is the manager of the project under test, resolved per run
+    private static final Map<String, String> ACCOUNTS = Map.of(
+            "admin", "admin@vgov.vn",
+            "dev", "dev1@vgov.vn",
+            "ba", "ba1@vgov.vn",
+            "test", "test1@vgov.vn");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, String> accounts = new HashMap<>(ACCOUNTS);
+
+    private final Map<String, String> placeholders = new HashMap<>();
+
+    /**
+     * Budgets leave headroom over the measured counts; an N+1 grows with the dataset and
+     * overshoots them by far.
+     */
+    record Budget(String role, String path, int maxStatements, int maxEntities) {
+        @Override
+        public String toString() {
+            return role + " GET " + path;
+        }
+    }
+
+    static Stream<Budget> budgets() {
+        return Stream.of(
+                new Budget("admin", "/api/auth/me", 3, 5),
+                new Budget("admin", "/api/profile", 3, 5),
+                new Budget("admin", "/api/users?page=0&size=20", 5, 30),
+                new Budget("admin", "/api/users/autocomplete?q=dev", 3, 5),
+                new Budget("admin", "/api/users/{devId}", 4, 5),
+                new Budget("admin", "/api/users/{devId}/workload", 6, 5),
+                new Budget("admin", "/api/projects?page=0&size=20", 5, 30),
+                new Budget("admin", "/api/projects/autocomplete?q=a", 3, 5),
+                new Budget("admin", "/api/projects/{projectId}", 4, 5),
+                new Budget("admin", "/api/projects/{projectId}/members", 5, 25),
+                new Budget("admin", "/api/worklogs", 4, 45000),
+                new Budget("admin", "/api/worklogs?search=api&sortBy=user&size=20", 5, 45),
+                new Budget("admin", "/api/worklogs/search?q=api", 6, 65),
+                new Budget("admin", "/api/worklogs/user/{devId}", 5, 35),
+                new Budget("admin", "/api/worklogs/project/{projectId}", 5, 5),
+                new Budget("admin", "/api/analytics/projects", 4, 90),
+                new Budget("admin", "/api/analytics/employees", 5, 210),
+                new Budget("admin", "/api/analytics/workload", 6, 300),
+                new Budget("admin", "/api/analytics/project/{projectId}/timeline", 6, 5),
+                new Budget("admin", "/api/analytics/project-timeline", 4, 90),
+                new Budget("admin", "/api/dashboard/overview", 14, 115),
+                new Budget("admin", "/api/notifications", 4, 5),
+                new Budget("pm", "/api/users?page=0&size=20", 5, 30),
+                new Budget("pm", "/api/projects?page=0&size=20", 6, 30),
+                new Budget("pm", "/api/worklogs", 4, 165),
+                new Budget("pm", "/api/projects/{projectId}/members", 5, 25),
+                new Budget("pm", "/api/worklogs/user/{devId}", 7, 60),
+                new Budget("pm", "/api/analytics/projects", 4, 30),
+                new Budget("pm", "/api/analytics/project-timeline", 4, 30),
+                new Budget("pm", "/api/notifications", 4, 5),
+                new Budget("dev", "/api/profile", 4, 5),
+                new Budget("dev", "/api/projects?page=0&size=20", 5, 10),
+                new Budget("dev", "/api/projects/{projectId}", 7, 10),
+                new Budget("dev", "/api/projects/{projectId}/members", 6, 25),
+                new Budget("dev", "/api/worklogs", 4, 30),
+                new Budget("dev", "/api/worklogs/user/{devId}", 4, 30),
+                new Budget("dev", "/api/worklogs/project/{projectId}", 6, 10),
+                new Budget("dev", "/api/analytics/project/{projectId}/timeline", 8, 5),
+                new Budget("dev", "/api/dashboard/overview", 12, 25),
+                new Budget("dev", "/api/notifications", 5, 10),
+                new Budget("dev", "/api/notifications/all", 5, 10),
+                new Budget("dev", "/api/notifications/unread", 5, 10),
+                new Budget("dev", "/api/notifications/unread/count", 4, 5),
+                new Budget("ba", "/api/projects?page=0&size=20", 5, 10),
+                new Budget("ba", "/api/worklogs", 4, 5),
+                new Budget("ba", "/api/dashboard/overview", 12, 10),
+                new Budget("test", "/api/projects?page=0&size=20", 5, 10),
+                new Budget("test", "/api/worklogs", 4, 5),
+                new Budget("test", "/api/dashboard/overview", 12, 10));
+    }
+
+    @BeforeEach
+    void resolvePlaceholders() {
+        Long devId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = ?", Long.class, ACCOUNTS.get("dev"));
+        // A project dev1 works on, managed by the PM account, so every role may open it
+        Map<String, Object> project = jdbcTemplate.queryForMap(
+                "SELECT p.id, p.pm_email FROM project_members pm JOIN projects p ON p.id = pm.project_id " +
+                "WHERE pm.user_id = ? AND pm.is_active AND p.status <> 'Closed' ORDER BY p.id LIMIT 1",
+                devId);
+        accounts.put("pm", (String) project.get("pm_email"));
+        placeholders.put("{devId}", devId.toString());
+        placeholders.put("{projectId}", project.get("id").toString());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void staysWithinQueryBudget(Budget budget) throws Exception {
+        String path = budget.path();
+        for (Map.Entry<String, String> placeholder : placeholders.entrySet()) {
+            path = path.replace(placeholder.getKey(), placeholder.getValue());
+        }
+        String token = jwtUtils.generateTokenForUser(userRepository.findByEmail(accounts.get(budget.role())).orElseThrow());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        long entities = statistics.getEntityLoadCount();
+        assertThat(statements).as("SQL statements for %s", budget).isLessThanOrEqualTo(budget.maxStatements());
+        assertThat(entities).as("entities loaded for %s", budget).isLessThanOrEqualTo(budget.maxEntities());
+    }
+}
@@ -0,0 +1,96 @@
+package org.viettel.vgov.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.bulkhead.BulkheadProperties;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The analytics bulkhead's reserved pools against a primary and a replica container, with an
+ * unreachable replica listed first. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BulkheadConfigTests {
+
+    private static final String IMAGE = "postgres:16-alpine";
+    private static final String DOWN_REPLICA_URL = "jdbc:postgresql://localhost:1/down";
+
+    @Container
+    static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(IMAGE).withDatabaseName("primary");
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(IMAGE).withDatabaseName("replica");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadReplicaConfig readReplicaConfig = new ReadReplicaConfig();
+
+    @AfterEach
+    void close() throws Exception {
+        readReplicaConfig.closeDataSources();
+    }
+
+    @Test
+    void skipsAnUnhealthyFirstReplica() {
+        DataSource analytics = analyticsPool(DOWN_REPLICA_URL + "," + replica.getJdbcUrl());
+        assertThat(databaseIn(analytics, true)).isEqualTo("primary");
+
+        readReplicaConfig.checkReplicas();
+
+        assertThat(databaseIn(analytics, true)).isEqualTo("replica");
+        assertThat(databaseIn(analytics, true)).isEqualTo("replica");
+        assertThat(databaseIn(analytics, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToThePrimaryWithoutAHealthyReplica() {
+        DataSource analytics = analyticsPool(DOWN_REPLICA_URL);
+
+        readReplicaConfig.checkReplicas();
+
+        assertThat(databaseIn(analytics, true)).isEqualTo("primary");
+    }
+
+    private DataSource analyticsPool(String replicaUrls) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.datasource.replica-urls", replicaUrls)
+                // A replica that is down should fail its health check quickly
+                .withProperty("spring.datasource.hikari.connection-timeout", "1000");
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(primary.getJdbcUrl());
+        dataSourceProperties.setUsername(primary.getUsername());
+        dataSourceProperties.setPassword(primary.getPassword());
+
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("dataSourceProperties", dataSourceProperties);
+        beans.registerSingleton("meterRegistry", meterRegistry);
+        beans.registerSingleton("readReplicaConfig", readReplicaConfig);
+        BulkheadConfig.BulkheadDataSourceRouting routing = new BulkheadConfig.BulkheadDataSourceRouting(environment,
+                beans.getBeanProvider(DataSourceProperties.class), beans.getBeanProvider(MeterRegistry.class),
+                beans.getBeanProvider(ReadReplicaConfig.class));
+
+        BulkheadProperties.Group group = new BulkheadProperties.Group();
+        group.setPoolSize(2);
+        return routing.pool("analytics", group);
+    }
+
+    private static String databaseIn(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
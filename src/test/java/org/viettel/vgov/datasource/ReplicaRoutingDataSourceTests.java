@@ -0,0 +1,124 @@
+package org.viettel.vgov.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against a primary and a replica container. The two are independent databases with
+ * different names, so {@code current_database()} tells where a transaction ran. Skipped
+ * without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTests {
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    @Container
+    static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(IMAGE).withDatabaseName("primary");
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(IMAGE).withDatabaseName("replica");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void close() throws Exception {
+        SecurityContextHolder.clearContext();
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToTheReplica() {
+        DataSource dataSource = routing(replica);
+        routingDataSource.checkHealth();
+
+        assertThat(databaseIn(dataSource, true)).isEqualTo("replica");
+        assertThat(databaseIn(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void keepsAUsersReadsOnThePrimaryAfterTheirWrite() {
+        DataSource dataSource = routing(replica);
+        routingDataSource.checkHealth();
+
+        signIn("writer@vgov.vn");
+        databaseIn(dataSource, false);
+        assertThat(databaseIn(dataSource, true)).isEqualTo("primary");
+
+        signIn("reader@vgov.vn");
+        assertThat(databaseIn(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void takesAStoppedReplicaOutOfRotation() {
+        try (PostgreSQLContainer<?> failing = new PostgreSQLContainer<>(IMAGE).withDatabaseName("replica")) {
+            failing.start();
+            DataSource dataSource = routing(failing);
+            routingDataSource.checkHealth();
+            assertThat(databaseIn(dataSource, true)).isEqualTo("replica");
+            assertThat(healthGauge()).isEqualTo(1);
+
+            failing.stop();
+            routingDataSource.checkHealth();
+
+            assertThat(healthGauge()).isEqualTo(0);
+            assertThat(databaseIn(dataSource, true)).isEqualTo("primary");
+        }
+    }
+
+    private DataSource routing(PostgreSQLContainer<?> replicaContainer) {
+        routingDataSource = new ReplicaRoutingDataSource(pool(primary), Map.of("replica-1", pool(replicaContainer)),
+                Duration.ofSeconds(30), meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private String databaseIn(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private double healthGauge() {
+        return meterRegistry.get("vgov.datasource.replica.healthy").tag("replica", "replica-1").gauge().value();
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_DEV")));
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        // A stopped replica should fail the health check quickly
+        dataSource.setConnectionTimeout(1000);
+        return dataSource;
+    }
+}
@@ -0,0 +1,54 @@
+package org.viettel.vgov.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The denylist trusts a negative answer without looking further, so the filter must never
+ * miss a string it was given.
+ */
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAnAddedString() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        // Twice the expected insertions: a saturated filter may say yes too often, never no
+        for (int i = 0; i < 20_000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            filter.add(tokenId);
+            added.add(tokenId);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void staysNearTheFalsePositiveRateWhenSizedForTheLoad() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void answersNoWhenEmpty() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain(UUID.randomUUID().toString())).isFalse();
+    }
+}
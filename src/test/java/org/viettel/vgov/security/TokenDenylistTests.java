@@ -0,0 +1,95 @@
+package org.viettel.vgov.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.viettel.vgov.model.TokenRevocation;
+import org.viettel.vgov.repository.TokenRevocationRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Polling and expiry of the in-memory denylist, with the revocations table mocked.
+ */
+class TokenDenylistTests {
+
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void createDenylist() {
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of());
+        denylist = new TokenDenylist(repository, meterRegistry);
+        ReflectionTestUtils.setField(denylist, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(denylist, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(denylist, "pollOverlap", POLL_OVERLAP);
+        denylist.afterPropertiesSet();
+    }
+
+    @Test
+    void revokesOnThisNodeWithoutWaitingForAPoll() {
+        denylist.revoke("local", Date.from(Instant.now().plusSeconds(600)));
+
+        verify(repository).insert(any(), any());
+        assertThat(denylist.isRevoked("local")).isTrue();
+        assertThat(denylist.isRevoked("other")).isFalse();
+    }
+
+    @Test
+    void picksUpRevocationsFromOtherNodesAndRereadsTheOverlap() {
+        LocalDateTime revokedAt = LocalDateTime.now().minusSeconds(5);
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(revocation("remote", revokedAt, 600)));
+
+        denylist.poll();
+        assertThat(denylist.isRevoked("remote")).isTrue();
+
+        // A row stamped before the newest one may commit later, so the next poll starts behind it
+        denylist.poll();
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(3)).findRevokedSince(since.capture(), any());
+        assertThat(since.getAllValues().get(0)).isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+        assertThat(since.getAllValues().get(2)).isEqualTo(revokedAt.minus(POLL_OVERLAP));
+    }
+
+    @Test
+    void rebuildsTheFilterWithoutExpiredRevocations() {
+        LocalDateTime revokedAt = LocalDateTime.now().minusMinutes(20);
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(
+                revocation("expired", revokedAt, -60),
+                revocation("live", revokedAt, 600)));
+
+        denylist.poll();
+
+        assertThat(meterRegistry.get("vgov.token.denylist.size").gauge().value()).isEqualTo(1);
+        assertThat(denylist.isRevoked("live")).isTrue();
+        assertThat(denylist.isRevoked("expired")).isFalse();
+        // Answered by the rebuilt filter, which no longer holds the expired id
+        assertThat(checks("bloom-negative")).isEqualTo(1);
+        assertThat(checks("false-positive")).isZero();
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("vgov.token.denylist.checks").tag("result", result).counter().count();
+    }
+
+    private static TokenRevocation revocation(String tokenId, LocalDateTime revokedAt, long expiresInSeconds) {
+        return new TokenRevocation(tokenId, LocalDateTime.now().plusSeconds(expiresInSeconds), revokedAt);
+    }
+}
@@ -0,0 +1,114 @@
+package org.viettel.vgov.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Access tokens issued before a role, status or password change stop working, although
+ * their signature and expiry are still valid. Skipped without Docker.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TokenVersionsTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String PASSWORD = "123456";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void roleChangeRejectsEarlierTokens() throws Exception {
+        String token = login("dev4@vgov.vn", PASSWORD);
+        me(token).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/users/{id}/role", userId("dev4@vgov.vn"))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("admin@vgov.vn", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("role", "ba"))))
+                .andExpect(status().isOk());
+
+        me(token).andExpect(status().isForbidden());
+        me(login("dev4@vgov.vn", PASSWORD)).andExpect(status().isOk()).andExpect(jsonPath("$.role").value("ba"));
+    }
+
+    @Test
+    void deactivationRejectsEarlierTokens() throws Exception {
+        String token = login("dev5@vgov.vn", PASSWORD);
+        me(token).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/users/{id}/activate", userId("dev5@vgov.vn"))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("admin@vgov.vn", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("isActive", false))))
+                .andExpect(status().isOk());
+
+        me(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void passwordChangeRejectsEarlierTokens() throws Exception {
+        String token = login("dev6@vgov.vn", PASSWORD);
+        String otherSession = login("dev6@vgov.vn", PASSWORD);
+
+        mockMvc.perform(put("/api/profile/password")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "currentPassword", PASSWORD,
+                                "newPassword", "changed-123",
+                                "confirmPassword", "changed-123"))))
+                .andExpect(status().isOk());
+
+        me(token).andExpect(status().isForbidden());
+        me(otherSession).andExpect(status().isForbidden());
+        me(login("dev6@vgov.vn", "changed-123")).andExpect(status().isOk());
+    }
+
+    private String login(String email, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private ResultActions me(String token) throws Exception {
+        return mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private Long userId(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+}
@@ -0,0 +1,122 @@
+package org.viettel.vgov.security.access;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.repository.UserRepository;
+import org.viettel.vgov.security.JwtUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link CanAccessProject} and {@link CanAccessUserWorkLogs} on the real endpoints, granting
+ * and denying as the {@code @PreAuthorize} expressions they replaced: admins and PMs always,
+ * others only for projects they are an active member of and for their own work logs.
+ * The services behind these endpoints check again and are stricter, hiding closed projects
+ * from members and other PMs' projects and people from a PM, so the cases stay inside what
+ * they allow. Skipped without Docker.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class AccessAnnotationsTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @Test
+    void devOpensOnlyProjectsTheyAreAMemberOf() throws Exception {
+        Long devId = userId("dev1@vgov.vn");
+
+        getAs("dev1@vgov.vn", "/api/projects/{id}", memberProject(devId)).andExpect(status().isOk());
+        getAs("dev1@vgov.vn", "/api/projects/{id}", otherProject(devId)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void pmAndAdminPassWithoutMembership() throws Exception {
+        // Managed by pm1, who is not a member of it
+        Long project = jdbcTemplate.queryForObject(
+                "SELECT id FROM projects WHERE pm_email = ? AND status <> 'Closed' AND id NOT IN " +
+                "(SELECT project_id FROM project_members WHERE user_id = ? AND is_active) ORDER BY id LIMIT 1",
+                Long.class, "pm1@vgov.vn", userId("pm1@vgov.vn"));
+
+        getAs("pm1@vgov.vn", "/api/projects/{id}", project).andExpect(status().isOk());
+        getAs("admin@vgov.vn", "/api/projects/{id}", otherProject(userId("admin@vgov.vn"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void removedMemberIsDeniedAtOnce() throws Exception {
+        Long devId = userId("dev2@vgov.vn");
+        Long project = memberProject(devId);
+        getAs("dev2@vgov.vn", "/api/projects/{id}", project).andExpect(status().isOk());
+        assertThat(projectMembershipIndex.projectIds(devId)).contains(project);
+
+        mockMvc.perform(delete("/api/projects/{id}/members/{userId}", project, devId)
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin@vgov.vn")))
+                .andExpect(status().isOk());
+
+        assertThat(projectMembershipIndex.projectIds(devId)).doesNotContain(project);
+        getAs("dev2@vgov.vn", "/api/projects/{id}", project).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void devReadsOnlyTheirOwnWorkLogs() throws Exception {
+        getAs("dev1@vgov.vn", "/api/worklogs/user/{userId}", userId("dev1@vgov.vn")).andExpect(status().isOk());
+        getAs("dev1@vgov.vn", "/api/worklogs/user/{userId}", userId("dev3@vgov.vn")).andExpect(status().isForbidden());
+        getAs("admin@vgov.vn", "/api/worklogs/user/{userId}", userId("dev3@vgov.vn")).andExpect(status().isOk());
+    }
+
+    private ResultActions getAs(String email, String path, Long id) throws Exception {
+        return mockMvc.perform(get(path, id).header(HttpHeaders.AUTHORIZATION, bearer(email)));
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + jwtUtils.generateTokenForUser(userRepository.findByEmail(email).orElseThrow());
+    }
+
+    private Long userId(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private Long memberProject(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT p.id FROM project_members pm JOIN projects p ON p.id = pm.project_id " +
+                "WHERE pm.user_id = ? AND pm.is_active AND p.status <> 'Closed' ORDER BY p.id LIMIT 1",
+                Long.class, userId);
+    }
+
+    private Long otherProject(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM projects WHERE status <> 'Closed' AND id NOT IN " +
+                "(SELECT project_id FROM project_members WHERE user_id = ? AND is_active) ORDER BY id LIMIT 1",
+                Long.class, userId);
+    }
+}
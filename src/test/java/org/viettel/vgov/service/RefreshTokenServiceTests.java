@@ -0,0 +1,145 @@
+package org.viettel.vgov.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.security.JwtUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh token rotation, reuse detection and logout through the auth endpoints, on
+ * PostgreSQL so the row locks and the commit on a refused refresh are real. Skipped
+ * without Docker.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenServiceTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void rotationRefusesTheSpentToken() throws Exception {
+        JsonNode login = login("dev1@vgov.vn");
+        String spent = login.get("refreshToken").asText();
+
+        JsonNode rotated = json(refresh(spent).andExpect(status().isOk()));
+        String replacement = rotated.get("refreshToken").asText();
+
+        assertThat(replacement).isNotEqualTo(spent);
+        assertThat(rotated.get("token").asText()).isNotEmpty();
+        refresh(replacement).andExpect(status().isOk());
+    }
+
+    @Test
+    void reusingASpentTokenRevokesItsWholeFamily() throws Exception {
+        String spent = login("dev2@vgov.vn").get("refreshToken").asText();
+        String replacement = json(refresh(spent).andExpect(status().isOk())).get("refreshToken").asText();
+        String family = familyOf(replacement);
+
+        refresh(spent).andExpect(status().isUnauthorized());
+
+        // The refused request still committed the revocation
+        Integer live = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE family_id = ? AND revoked_at IS NULL", Integer.class, family);
+        assertThat(live).isZero();
+        refresh(replacement).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenAndTheSession() throws Exception {
+        JsonNode login = login("dev3@vgov.vn");
+        String accessToken = login.get("token").asText();
+        String refreshToken = login.get("refreshToken").asText();
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isOk());
+
+        String tokenId = jwtUtils.getValidClaims(accessToken).getId();
+        Integer revocations = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM token_revocations WHERE token_id = ?", Integer.class, tokenId);
+        assertThat(revocations).isEqualTo(1);
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRefusesAnotherUsersRefreshToken() throws Exception {
+        String accessToken = login("dev4@vgov.vn").get("token").asText();
+        String othersRefreshToken = login("dev5@vgov.vn").get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", othersRefreshToken))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", othersRefreshToken))))
+                .andExpect(status().isUnauthorized());
+
+        refresh(othersRefreshToken).andExpect(status().isOk());
+    }
+
+    private JsonNode login(String email) throws Exception {
+        return json(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", "123456"))))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))));
+    }
+
+    private String familyOf(String refreshToken) {
+        String hash = jdbcTemplate.queryForObject("SELECT encode(sha256(convert_to(?, 'UTF8')), 'hex')",
+                String.class, refreshToken);
+        return jdbcTemplate.queryForObject("SELECT family_id FROM refresh_tokens WHERE token_hash = ?",
+                String.class, hash);
+    }
+
+    private JsonNode json(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,148 @@
+package org.viettel.vgov.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.repository.FileBlobRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference counting of content-addressed blobs on PostgreSQL, with the local backend
+ * underneath. Skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "app.file.storage=local",
+        "app.file.deduplicate=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class DeduplicatingFileStorageTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Path uploadDir = createTempDirectory();
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private FileBlobRepository fileBlobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("app.file.upload-dir", uploadDir::toString);
+    }
+
+    @Test
+    void sharesOneBlobBetweenNamesWithTheSameContent() throws Exception {
+        String content = "shared " + UUID.randomUUID();
+        store("a.txt", content);
+        store("b.txt", content);
+        String hash = fileStorage.contentHash("a.txt").orElseThrow();
+
+        assertThat(fileStorage.contentHash("b.txt")).contains(hash);
+        assertThat(refCount(hash)).containsExactly(2);
+
+        assertThat(fileStorage.delete("a.txt")).isTrue();
+        assertThat(refCount(hash)).containsExactly(1);
+        assertThat(blobObject(hash)).exists();
+        assertThat(read("b.txt")).isEqualTo(content);
+
+        assertThat(fileStorage.delete("b.txt")).isTrue();
+        assertThat(refCount(hash)).isEmpty();
+        assertThat(blobObject(hash)).doesNotExist();
+    }
+
+    @Test
+    void overwritingReleasesThePreviousContent() throws Exception {
+        store("report.txt", "first " + UUID.randomUUID());
+        String firstHash = fileStorage.contentHash("report.txt").orElseThrow();
+
+        store("report.txt", "second " + UUID.randomUUID());
+        String secondHash = fileStorage.contentHash("report.txt").orElseThrow();
+
+        assertThat(secondHash).isNotEqualTo(firstHash);
+        assertThat(refCount(firstHash)).isEmpty();
+        assertThat(blobObject(firstHash)).doesNotExist();
+        assertThat(refCount(secondHash)).containsExactly(1);
+        assertThat(blobObject(secondHash)).exists();
+    }
+
+    @Test
+    void keepsTheObjectWhenTheDeleteRollsBack() throws Exception {
+        store("kept.txt", "kept " + UUID.randomUUID());
+        String hash = fileStorage.contentHash("kept.txt").orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                fileStorage.delete("kept.txt");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        assertThat(refCount(hash)).containsExactly(1);
+        assertThat(blobObject(hash)).exists();
+    }
+
+    @Test
+    void releasingAMissingBlobIsAMiss() {
+        Optional<Integer> remaining = transactionTemplate.execute(status -> fileBlobRepository.releaseReference("missing"));
+        assertThat(remaining).isEmpty();
+    }
+
+    private void store(String filename, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        fileStorage.store(filename, new ByteArrayInputStream(bytes), bytes.length, "text/plain");
+    }
+
+    private String read(String filename) throws IOException {
+        try (InputStream in = fileStorage.load(filename).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private List<Integer> refCount(String hash) {
+        return jdbcTemplate.queryForList("SELECT ref_count FROM file_blobs WHERE hash = ?", Integer.class, hash);
+    }
+
+    private Path blobObject(String hash) {
+        return uploadDir.resolve("blobs").resolve(hash);
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("vgov-dedup-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.viettel.vgov.storage;
+
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.viettel.vgov.exception.ResourceNotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link MinioFileStorage} against a real MinIO server. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MinioFileStorageTests {
+
+    private static final long PART_SIZE = 5L * 1024 * 1024;
+
+    @Container
+    static final MinIOContainer minio = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private MinioClient minioClient;
+    private MinioFileStorage storage;
+    private String bucket;
+
+    @BeforeEach
+    void createBucket() {
+        minioClient = MinioClient.builder()
+                .endpoint(minio.getS3URL())
+                .credentials(minio.getUserName(), minio.getPassword())
+                .build();
+        bucket = "test-" + UUID.randomUUID();
+        storage = new MinioFileStorage(minioClient, bucket, PART_SIZE);
+        storage.ensureBucket();
+    }
+
+    @Test
+    void streamsLargeFilesAsMultipartUploads() throws Exception {
+        byte[] content = new byte[(int) (PART_SIZE * 2 + 1024 * 1024)];
+        new Random(42).nextBytes(content);
+
+        storage.store("large.bin", new ByteArrayInputStream(content), content.length, "application/octet-stream");
+
+        // Multipart ETags end in -<number of parts>
+        String etag = minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object("large.bin").build()).etag();
+        assertThat(etag).endsWith("-3");
+        Resource resource = storage.load("large.bin");
+        assertThat(resource.contentLength()).isEqualTo(content.length);
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void storesLoadsAndDeletes() throws Exception {
+        byte[] content = "hello".getBytes(StandardCharsets.UTF_8);
+        assertThat(storage.exists("small.txt")).isFalse();
+
+        storage.store("small.txt", new ByteArrayInputStream(content), content.length, "text/plain");
+
+        assertThat(storage.exists("small.txt")).isTrue();
+        try (InputStream in = storage.load("small.txt").getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(storage.delete("small.txt")).isTrue();
+        assertThat(storage.delete("small.txt")).isFalse();
+        assertThat(storage.exists("small.txt")).isFalse();
+        assertThatThrownBy(() -> storage.load("small.txt")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void movesObjects() throws Exception {
+        byte[] content = "moved".getBytes(StandardCharsets.UTF_8);
+        storage.store("from.txt", new ByteArrayInputStream(content), content.length, "text/plain");
+
+        storage.move("from.txt", "to.txt");
+
+        assertThat(storage.exists("from.txt")).isFalse();
+        try (InputStream in = storage.load("to.txt").getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+}
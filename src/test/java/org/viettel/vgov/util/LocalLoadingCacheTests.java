@@ -0,0 +1,80 @@
+package org.viettel.vgov.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loading and invalidation, including a load that races with an invalidation.
+ */
+class LocalLoadingCacheTests {
+
+    private final CacheManager cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build(true);
+    private final LocalLoadingCache<Long, String> cache = new LocalLoadingCache<>(cacheManager, "test", Long.class,
+            Duration.ofMinutes(1), 100, new SimpleMeterRegistry(), "test.lookups", "Test lookups");
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void close() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cacheManager.close();
+    }
+
+    @Test
+    void loadsOncePerKey() {
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#1");
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#1");
+        assertThat(cache.get(2L, this::load)).isEqualTo("2#2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void reloadsAfterAnInvalidation() {
+        cache.get(1L, this::load);
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#2");
+    }
+
+    @Test
+    void doesNotStoreALoadThatAnInvalidationOvertook() {
+        // The row is changed and invalidated while this load is still reading it
+        String stale = cache.get(1L, key -> {
+            String value = load(key);
+            cache.invalidate(key);
+            return value;
+        });
+
+        assertThat(stale).isEqualTo("1#1");
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#2");
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#2");
+    }
+
+    @Test
+    void invalidatesInsideATransactionOnlyOnceItCommits() {
+        cache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#1");
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertThat(cache.get(1L, this::load)).isEqualTo("1#2");
+    }
+
+    private String load(Long key) {
+        return key + "#" + loads.incrementAndGet();
+    }
+}